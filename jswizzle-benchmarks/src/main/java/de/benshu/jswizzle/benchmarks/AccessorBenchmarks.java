@@ -0,0 +1,101 @@
+package de.benshu.jswizzle.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated getters versus hand-written ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessorBenchmarks {
+    Point point = new Point(1, 2);
+    HandWrittenPoint handWrittenPoint = new HandWrittenPoint(1, 2);
+
+    Wide10 wide10 = new Wide10(0, 1L, 2.0, true, "4", 5, 6L, 7.0, false, "9");
+    HandWrittenWide10 handWrittenWide10 = new HandWrittenWide10(0, 1L, 2.0, true, "4", 5, 6L, 7.0, false, "9");
+
+    Wide50 wide50 = new Wide50(
+            0, 1L, 2, 3L, 4, 5L, 6, 7L, 8, 9L, 10, 11L, 12, 13L, 14, 15L, 16, 17L, 18, 19L, 20, 21L, 22, 23L,
+            24, 25L, 26, 27L, 28, 29L, 30, 31L, 32, 33L, 34, 35L, 36, 37L, 38, 39L, 40, 41L, 42, 43L, 44, 45L,
+            46, 47L, 48, 49L
+    );
+    HandWrittenWide50 handWrittenWide50 = new HandWrittenWide50(
+            0, 1L, 2, 3L, 4, 5L, 6, 7L, 8, 9L, 10, 11L, 12, 13L, 14, 15L, 16, 17L, 18, 19L, 20, 21L, 22, 23L,
+            24, 25L, 26, 27L, 28, 29L, 30, 31L, 32, 33L, 34, 35L, 36, 37L, 38, 39L, 40, 41L, 42, 43L, 44, 45L,
+            46, 47L, 48, 49L
+    );
+
+    Pair<String, Integer> pair = new Pair<>("first", 2);
+    HandWrittenPair<String, Integer> handWrittenPair = new HandWrittenPair<>("first", 2);
+
+    FactoryPoint factoryPoint = FactoryPoint.of(1, 2);
+    HandWrittenFactoryPoint handWrittenFactoryPoint = HandWrittenFactoryPoint.of(1, 2);
+
+    int x = 3;
+    long l = 4L;
+    String s = "s";
+
+    @Benchmark
+    public int generatedPoint() {
+        return point.getX() + point.getY();
+    }
+
+    @Benchmark
+    public int handWrittenPoint() {
+        return handWrittenPoint.getX() + handWrittenPoint.getY();
+    }
+
+    @Benchmark
+    public double generatedWide10() {
+        return wide10.getI0() + wide10.getL1() + wide10.getD2() + wide10.getS9().length();
+    }
+
+    @Benchmark
+    public double handWrittenWide10() {
+        return handWrittenWide10.getI0() + handWrittenWide10.getL1() + handWrittenWide10.getD2() + handWrittenWide10.getS9().length();
+    }
+
+    @Benchmark
+    public long generatedWide50() {
+        return wide50.getP0() + wide50.getP49();
+    }
+
+    @Benchmark
+    public long handWrittenWide50() {
+        return handWrittenWide50.getP0() + handWrittenWide50.getP49();
+    }
+
+    @Benchmark
+    public int generatedPair() {
+        return pair.getFirst().length() + pair.getSecond();
+    }
+
+    @Benchmark
+    public int handWrittenPair() {
+        return handWrittenPair.getFirst().length() + handWrittenPair.getSecond();
+    }
+
+    @Benchmark
+    public int generatedFactoryPoint() {
+        return factoryPoint.getX() + factoryPoint.getY();
+    }
+
+    @Benchmark
+    public int handWrittenFactoryPoint() {
+        return handWrittenFactoryPoint.getX() + handWrittenFactoryPoint.getY();
+    }
+}
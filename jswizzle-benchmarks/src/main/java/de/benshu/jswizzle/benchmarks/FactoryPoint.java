@@ -0,0 +1,25 @@
+package de.benshu.jswizzle.benchmarks;
+
+import de.benshu.jswizzle.copyable.CopyFactory;
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+/**
+ * Copied through a {@link CopyFactory} rather than a constructor.
+ */
+@Data
+@Copyable
+public class FactoryPoint implements FactoryPointMixin {
+    @CopyFactory
+    public static FactoryPoint of(int x, int y) {
+        return new FactoryPoint(x, y);
+    }
+
+    final int x;
+    final int y;
+
+    private FactoryPoint(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+}
@@ -0,0 +1,40 @@
+package de.benshu.jswizzle.benchmarks;
+
+/**
+ * Hand-written equivalent of {@link FactoryPoint}.
+ */
+public class HandWrittenFactoryPoint {
+    public static HandWrittenFactoryPoint of(int x, int y) {
+        return new HandWrittenFactoryPoint(x, y);
+    }
+
+    final int x;
+    final int y;
+
+    private HandWrittenFactoryPoint(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public HandWrittenFactoryPoint withX(int newX) {
+        return HandWrittenFactoryPoint.of(
+                newX,
+                y
+        );
+    }
+
+    public HandWrittenFactoryPoint withY(int newY) {
+        return HandWrittenFactoryPoint.of(
+                x,
+                newY
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package de.benshu.jswizzle.benchmarks;
+
+/**
+ * Hand-written equivalent of {@link Pair}.
+ */
+public class HandWrittenPair<A, B> {
+    final A first;
+    final B second;
+
+    public HandWrittenPair(A first, B second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public A getFirst() {
+        return first;
+    }
+
+    public B getSecond() {
+        return second;
+    }
+
+    public HandWrittenPair<A, B> withFirst(A newFirst) {
+        return new HandWrittenPair<>(
+                newFirst,
+                second
+        );
+    }
+
+    public HandWrittenPair<A, B> withSecond(B newSecond) {
+        return new HandWrittenPair<>(
+                first,
+                newSecond
+        );
+    }
+}
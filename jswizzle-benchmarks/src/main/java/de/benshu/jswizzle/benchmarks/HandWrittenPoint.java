@@ -0,0 +1,36 @@
+package de.benshu.jswizzle.benchmarks;
+
+/**
+ * Hand-written equivalent of {@link Point}.
+ */
+public class HandWrittenPoint {
+    final int x;
+    final int y;
+
+    public HandWrittenPoint(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public HandWrittenPoint withX(int newX) {
+        return new HandWrittenPoint(
+                newX,
+                y
+        );
+    }
+
+    public HandWrittenPoint withY(int newY) {
+        return new HandWrittenPoint(
+                x,
+                newY
+        );
+    }
+}
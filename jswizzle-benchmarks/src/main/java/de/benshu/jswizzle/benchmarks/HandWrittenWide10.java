@@ -0,0 +1,231 @@
+package de.benshu.jswizzle.benchmarks;
+
+/**
+ * Hand-written equivalent of {@link Wide10}.
+ */
+public class HandWrittenWide10 {
+    final int i0;
+    final long l1;
+    final double d2;
+    final boolean b3;
+    final String s4;
+    final int i5;
+    final long l6;
+    final double d7;
+    final boolean b8;
+    final String s9;
+
+    public HandWrittenWide10(
+            int i0,
+            long l1,
+            double d2,
+            boolean b3,
+            String s4,
+            int i5,
+            long l6,
+            double d7,
+            boolean b8,
+            String s9
+    ) {
+        this.i0 = i0;
+        this.l1 = l1;
+        this.d2 = d2;
+        this.b3 = b3;
+        this.s4 = s4;
+        this.i5 = i5;
+        this.l6 = l6;
+        this.d7 = d7;
+        this.b8 = b8;
+        this.s9 = s9;
+    }
+
+    public int getI0() {
+        return i0;
+    }
+
+    public long getL1() {
+        return l1;
+    }
+
+    public double getD2() {
+        return d2;
+    }
+
+    public boolean getB3() {
+        return b3;
+    }
+
+    public String getS4() {
+        return s4;
+    }
+
+    public int getI5() {
+        return i5;
+    }
+
+    public long getL6() {
+        return l6;
+    }
+
+    public double getD7() {
+        return d7;
+    }
+
+    public boolean getB8() {
+        return b8;
+    }
+
+    public String getS9() {
+        return s9;
+    }
+
+    public HandWrittenWide10 withI0(int newI0) {
+        return new HandWrittenWide10(
+                newI0,
+                l1,
+                d2,
+                b3,
+                s4,
+                i5,
+                l6,
+                d7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withL1(long newL1) {
+        return new HandWrittenWide10(
+                i0,
+                newL1,
+                d2,
+                b3,
+                s4,
+                i5,
+                l6,
+                d7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withD2(double newD2) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                newD2,
+                b3,
+                s4,
+                i5,
+                l6,
+                d7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withB3(boolean newB3) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                d2,
+                newB3,
+                s4,
+                i5,
+                l6,
+                d7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withS4(String newS4) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                d2,
+                b3,
+                newS4,
+                i5,
+                l6,
+                d7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withI5(int newI5) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                d2,
+                b3,
+                s4,
+                newI5,
+                l6,
+                d7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withL6(long newL6) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                d2,
+                b3,
+                s4,
+                i5,
+                newL6,
+                d7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withD7(double newD7) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                d2,
+                b3,
+                s4,
+                i5,
+                l6,
+                newD7,
+                b8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withB8(boolean newB8) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                d2,
+                b3,
+                s4,
+                i5,
+                l6,
+                d7,
+                newB8,
+                s9
+        );
+    }
+
+    public HandWrittenWide10 withS9(String newS9) {
+        return new HandWrittenWide10(
+                i0,
+                l1,
+                d2,
+                b3,
+                s4,
+                i5,
+                l6,
+                d7,
+                b8,
+                newS9
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package de.benshu.jswizzle.benchmarks;
+
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+/**
+ * Generic properties.
+ */
+@Data
+@Copyable
+public class Pair<A, B> implements PairMixin<A, B> {
+    final A first;
+    final B second;
+
+    public Pair(A first, B second) {
+        this.first = first;
+        this.second = second;
+    }
+}
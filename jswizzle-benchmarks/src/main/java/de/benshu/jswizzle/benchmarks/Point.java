@@ -0,0 +1,19 @@
+package de.benshu.jswizzle.benchmarks;
+
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+/**
+ * Two primitive properties.
+ */
+@Data
+@Copyable
+public class Point implements PointMixin {
+    final int x;
+    final int y;
+
+    public Point(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+}
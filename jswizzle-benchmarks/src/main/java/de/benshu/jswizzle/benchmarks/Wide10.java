@@ -0,0 +1,46 @@
+package de.benshu.jswizzle.benchmarks;
+
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+/**
+ * Ten properties of mixed primitive and reference types.
+ */
+@Data
+@Copyable
+public class Wide10 implements Wide10Mixin {
+    final int i0;
+    final long l1;
+    final double d2;
+    final boolean b3;
+    final String s4;
+    final int i5;
+    final long l6;
+    final double d7;
+    final boolean b8;
+    final String s9;
+
+    public Wide10(
+            int i0,
+            long l1,
+            double d2,
+            boolean b3,
+            String s4,
+            int i5,
+            long l6,
+            double d7,
+            boolean b8,
+            String s9
+    ) {
+        this.i0 = i0;
+        this.l1 = l1;
+        this.d2 = d2;
+        this.b3 = b3;
+        this.s4 = s4;
+        this.i5 = i5;
+        this.l6 = l6;
+        this.d7 = d7;
+        this.b8 = b8;
+        this.s9 = s9;
+    }
+}
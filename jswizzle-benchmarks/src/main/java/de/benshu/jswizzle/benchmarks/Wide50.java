@@ -0,0 +1,166 @@
+package de.benshu.jswizzle.benchmarks;
+
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+/**
+ * Fifty primitive properties.
+ */
+@Data
+@Copyable
+public class Wide50 implements Wide50Mixin {
+    final int p0;
+    final long p1;
+    final int p2;
+    final long p3;
+    final int p4;
+    final long p5;
+    final int p6;
+    final long p7;
+    final int p8;
+    final long p9;
+    final int p10;
+    final long p11;
+    final int p12;
+    final long p13;
+    final int p14;
+    final long p15;
+    final int p16;
+    final long p17;
+    final int p18;
+    final long p19;
+    final int p20;
+    final long p21;
+    final int p22;
+    final long p23;
+    final int p24;
+    final long p25;
+    final int p26;
+    final long p27;
+    final int p28;
+    final long p29;
+    final int p30;
+    final long p31;
+    final int p32;
+    final long p33;
+    final int p34;
+    final long p35;
+    final int p36;
+    final long p37;
+    final int p38;
+    final long p39;
+    final int p40;
+    final long p41;
+    final int p42;
+    final long p43;
+    final int p44;
+    final long p45;
+    final int p46;
+    final long p47;
+    final int p48;
+    final long p49;
+
+    public Wide50(
+            int p0,
+            long p1,
+            int p2,
+            long p3,
+            int p4,
+            long p5,
+            int p6,
+            long p7,
+            int p8,
+            long p9,
+            int p10,
+            long p11,
+            int p12,
+            long p13,
+            int p14,
+            long p15,
+            int p16,
+            long p17,
+            int p18,
+            long p19,
+            int p20,
+            long p21,
+            int p22,
+            long p23,
+            int p24,
+            long p25,
+            int p26,
+            long p27,
+            int p28,
+            long p29,
+            int p30,
+            long p31,
+            int p32,
+            long p33,
+            int p34,
+            long p35,
+            int p36,
+            long p37,
+            int p38,
+            long p39,
+            int p40,
+            long p41,
+            int p42,
+            long p43,
+            int p44,
+            long p45,
+            int p46,
+            long p47,
+            int p48,
+            long p49
+    ) {
+        this.p0 = p0;
+        this.p1 = p1;
+        this.p2 = p2;
+        this.p3 = p3;
+        this.p4 = p4;
+        this.p5 = p5;
+        this.p6 = p6;
+        this.p7 = p7;
+        this.p8 = p8;
+        this.p9 = p9;
+        this.p10 = p10;
+        this.p11 = p11;
+        this.p12 = p12;
+        this.p13 = p13;
+        this.p14 = p14;
+        this.p15 = p15;
+        this.p16 = p16;
+        this.p17 = p17;
+        this.p18 = p18;
+        this.p19 = p19;
+        this.p20 = p20;
+        this.p21 = p21;
+        this.p22 = p22;
+        this.p23 = p23;
+        this.p24 = p24;
+        this.p25 = p25;
+        this.p26 = p26;
+        this.p27 = p27;
+        this.p28 = p28;
+        this.p29 = p29;
+        this.p30 = p30;
+        this.p31 = p31;
+        this.p32 = p32;
+        this.p33 = p33;
+        this.p34 = p34;
+        this.p35 = p35;
+        this.p36 = p36;
+        this.p37 = p37;
+        this.p38 = p38;
+        this.p39 = p39;
+        this.p40 = p40;
+        this.p41 = p41;
+        this.p42 = p42;
+        this.p43 = p43;
+        this.p44 = p44;
+        this.p45 = p45;
+        this.p46 = p46;
+        this.p47 = p47;
+        this.p48 = p48;
+        this.p49 = p49;
+    }
+}
@@ -0,0 +1,111 @@
+package de.benshu.jswizzle.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated withers versus hand-written ones. Run with {@code -prof gc} to compare allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class WitherBenchmarks {
+    Point point = new Point(1, 2);
+    HandWrittenPoint handWrittenPoint = new HandWrittenPoint(1, 2);
+
+    Wide10 wide10 = new Wide10(0, 1L, 2.0, true, "4", 5, 6L, 7.0, false, "9");
+    HandWrittenWide10 handWrittenWide10 = new HandWrittenWide10(0, 1L, 2.0, true, "4", 5, 6L, 7.0, false, "9");
+
+    Wide50 wide50 = new Wide50(
+            0, 1L, 2, 3L, 4, 5L, 6, 7L, 8, 9L, 10, 11L, 12, 13L, 14, 15L, 16, 17L, 18, 19L, 20, 21L, 22, 23L,
+            24, 25L, 26, 27L, 28, 29L, 30, 31L, 32, 33L, 34, 35L, 36, 37L, 38, 39L, 40, 41L, 42, 43L, 44, 45L,
+            46, 47L, 48, 49L
+    );
+    HandWrittenWide50 handWrittenWide50 = new HandWrittenWide50(
+            0, 1L, 2, 3L, 4, 5L, 6, 7L, 8, 9L, 10, 11L, 12, 13L, 14, 15L, 16, 17L, 18, 19L, 20, 21L, 22, 23L,
+            24, 25L, 26, 27L, 28, 29L, 30, 31L, 32, 33L, 34, 35L, 36, 37L, 38, 39L, 40, 41L, 42, 43L, 44, 45L,
+            46, 47L, 48, 49L
+    );
+
+    Pair<String, Integer> pair = new Pair<>("first", 2);
+    HandWrittenPair<String, Integer> handWrittenPair = new HandWrittenPair<>("first", 2);
+
+    FactoryPoint factoryPoint = FactoryPoint.of(1, 2);
+    HandWrittenFactoryPoint handWrittenFactoryPoint = HandWrittenFactoryPoint.of(1, 2);
+
+    int x = 3;
+    long l = 4L;
+    String s = "s";
+
+    @Benchmark
+    public Point generatedPoint() {
+        return point.withX(x);
+    }
+
+    @Benchmark
+    public HandWrittenPoint handWrittenPoint() {
+        return handWrittenPoint.withX(x);
+    }
+
+    @Benchmark
+    public Wide10 generatedWide10() {
+        return wide10.withS9(s);
+    }
+
+    @Benchmark
+    public HandWrittenWide10 handWrittenWide10() {
+        return handWrittenWide10.withS9(s);
+    }
+
+    @Benchmark
+    public Wide50 generatedWide50First() {
+        return wide50.withP0(x);
+    }
+
+    @Benchmark
+    public HandWrittenWide50 handWrittenWide50First() {
+        return handWrittenWide50.withP0(x);
+    }
+
+    @Benchmark
+    public Wide50 generatedWide50Last() {
+        return wide50.withP49(l);
+    }
+
+    @Benchmark
+    public HandWrittenWide50 handWrittenWide50Last() {
+        return handWrittenWide50.withP49(l);
+    }
+
+    @Benchmark
+    public Pair<String, Integer> generatedPair() {
+        return pair.withFirst(s);
+    }
+
+    @Benchmark
+    public HandWrittenPair<String, Integer> handWrittenPair() {
+        return handWrittenPair.withFirst(s);
+    }
+
+    @Benchmark
+    public FactoryPoint generatedFactoryPoint() {
+        return factoryPoint.withX(x);
+    }
+
+    @Benchmark
+    public HandWrittenFactoryPoint handWrittenFactoryPoint() {
+        return handWrittenFactoryPoint.withX(x);
+    }
+}
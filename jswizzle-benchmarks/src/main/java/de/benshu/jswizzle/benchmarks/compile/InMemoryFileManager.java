@@ -0,0 +1,114 @@
+package de.benshu.jswizzle.benchmarks.compile;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps everything the compiler writes, i.e. class files, generated sources and resources, in memory.
+ */
+final class InMemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+    static JavaFileObject source(String qualifiedName, String source) {
+        return new SimpleJavaFileObject(URI.create("string:///" + qualifiedName.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+    }
+
+    private final Map<String, OutputFile> outputs = new TreeMap<>();
+
+    InMemoryFileManager(JavaFileManager fileManager) {
+        super(fileManager);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+        return output(location, className.replace('.', '/') + kind.extension, kind);
+    }
+
+    @Override
+    public FileObject getFileForOutput(Location location, String packageName, String relativeName, FileObject sibling) {
+        final String path = packageName.isEmpty() ? relativeName : packageName.replace('.', '/') + "/" + relativeName;
+        return output(location, path, JavaFileObject.Kind.OTHER);
+    }
+
+    private OutputFile output(Location location, String path, JavaFileObject.Kind kind) {
+        final OutputFile file = new OutputFile(URI.create("mem:///" + location.getName() + "/" + path), kind);
+        outputs.put(location.getName() + "/" + path, file);
+        return file;
+    }
+
+    @Override
+    public boolean isSameFile(FileObject a, FileObject b) {
+        return a instanceof OutputFile || b instanceof OutputFile ? a.toUri().equals(b.toUri()) : super.isSameFile(a, b);
+    }
+
+    /**
+     * @return the generated sources by path
+     */
+    Map<String, byte[]> generatedSources() {
+        final Map<String, byte[]> sources = new TreeMap<>();
+        final String prefix = StandardLocation.SOURCE_OUTPUT.getName() + "/";
+
+        outputs.forEach((path, file) -> {
+            if (path.startsWith(prefix))
+                sources.put(path.substring(prefix.length()), file.content.toByteArray());
+        });
+
+        return sources;
+    }
+
+    /**
+     * @return everything written by the compiler and the processor by location and path
+     */
+    Map<String, byte[]> outputs() {
+        final Map<String, byte[]> contents = new TreeMap<>();
+        outputs.forEach((path, file) -> contents.put(path, file.content.toByteArray()));
+        return contents;
+    }
+
+    private static final class OutputFile extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        OutputFile(URI uri, Kind kind) {
+            super(uri, kind);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            content.reset();
+            return content;
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(content.toByteArray());
+        }
+
+        @Override
+        public Writer openWriter() {
+            return new OutputStreamWriter(openOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
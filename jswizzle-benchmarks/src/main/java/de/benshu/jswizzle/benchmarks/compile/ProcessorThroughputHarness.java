@@ -0,0 +1,239 @@
+package de.benshu.jswizzle.benchmarks.compile;
+
+import de.benshu.jswizzle.processor.SwizzleProcessor;
+
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles synthetic code bases in-process and reports how {@link SwizzleProcessor} scales with their size.
+ * <p>
+ * Usage: {@code ProcessorThroughputHarness [--classes 100,1000] [--properties 10] [--depth 0,2] [--mix both]
+ * [--proc-only] [--reproducible] [-A<option>=<value>...]}. Every combination of the comma separated values is compiled
+ * once. With {@code --reproducible} each combination is compiled a second time, with the sources passed in reverse
+ * order, and the harness fails unless both compilations produce the same bytes.
+ */
+public final class ProcessorThroughputHarness {
+    private static final String STATISTICS_RESOURCE = "META-INF/jswizzle/stats.json";
+
+    public static void main(String[] args) {
+        List<Integer> classes = Arrays.asList(100, 1000);
+        List<Integer> properties = Arrays.asList(10);
+        List<Integer> depths = Arrays.asList(0);
+        List<SyntheticCodeBase.Mix> mixes = Arrays.asList(SyntheticCodeBase.Mix.BOTH);
+        boolean procOnly = false;
+        boolean reproducible = false;
+        final List<String> processorOptions = new ArrayList<>();
+
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "--classes":
+                    classes = integers(args[++i]);
+                    break;
+                case "--properties":
+                    properties = integers(args[++i]);
+                    break;
+                case "--depth":
+                    depths = integers(args[++i]);
+                    break;
+                case "--mix":
+                    mixes = Arrays.stream(args[++i].split(","))
+                            .map(m -> SyntheticCodeBase.Mix.valueOf(m.trim().toUpperCase()))
+                            .collect(Collectors.toList());
+                    break;
+                case "--proc-only":
+                    procOnly = true;
+                    break;
+                case "--reproducible":
+                    reproducible = true;
+                    break;
+                default:
+                    if (!args[i].startsWith("-A"))
+                        throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                    processorOptions.add(args[i]);
+            }
+        }
+
+        System.out.printf("%-60s %12s %8s %12s %14s%n", "configuration", "processor ms", "rounds", "peak heap MB", "generated KB");
+
+        for (int c : classes)
+            for (int p : properties)
+                for (int d : depths)
+                    for (SyntheticCodeBase.Mix m : mixes) {
+                        final SyntheticCodeBase codeBase = new SyntheticCodeBase(c, p, d, m);
+                        final Result result = compile(codeBase, procOnly, processorOptions, false);
+
+                        System.out.printf("%-60s %12.1f %8d %12.1f %14.1f%n", codeBase, result.processorNanos / 1e6,
+                                result.rounds, result.peakHeapBytes / 1048576.0, result.generatedBytes / 1024.0);
+
+                        if (reproducible)
+                            checkReproducible(codeBase, result, compile(codeBase, procOnly, processorOptions, true));
+                    }
+    }
+
+    private static List<Integer> integers(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).map(Integer::valueOf).collect(Collectors.toList());
+    }
+
+    /**
+     * Compares the outputs of two compilations of the same code base. The statistics report is left out, since it
+     * consists of timings.
+     */
+    private static void checkReproducible(SyntheticCodeBase codeBase, Result first, Result second) {
+        final Set<String> paths = new TreeSet<>(first.outputs.keySet());
+        paths.addAll(second.outputs.keySet());
+        paths.removeIf(p -> p.endsWith(STATISTICS_RESOURCE));
+
+        final List<String> differing = paths.stream()
+                .filter(p -> !Arrays.equals(first.outputs.get(p), second.outputs.get(p)))
+                .collect(Collectors.toList());
+
+        if (!differing.isEmpty())
+            throw new IllegalStateException("Compilations of " + codeBase + " differ in " + differing.size() + " files, e.g. " + differing.get(0));
+
+        System.out.printf("%-60s %d files identical%n", "  reproducible", paths.size());
+    }
+
+    static Result compile(SyntheticCodeBase codeBase, boolean procOnly, List<String> processorOptions, boolean reverseSources) {
+        final List<JavaFileObject> sources = codeBase.generate().entrySet().stream()
+                .map(e -> InMemoryFileManager.source(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+        if (reverseSources)
+            Collections.reverse(sources);
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final InMemoryFileManager fileManager = new InMemoryFileManager(compiler.getStandardFileManager(diagnostics, null, null));
+
+        final List<String> options = new ArrayList<>(processorOptions);
+        options.addAll(Arrays.asList("-classpath", System.getProperty("java.class.path")));
+        if (procOnly)
+            options.add("-proc:only");
+
+        final TimingProcessor processor = new TimingProcessor(new SwizzleProcessor());
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+        task.setProcessors(Arrays.asList(processor));
+
+        System.gc();
+        resetPeakHeapUsage();
+
+        final boolean success = task.call();
+        final long peakHeapBytes = peakHeapUsage();
+
+        if (!success)
+            throw new IllegalStateException("Compilation of " + codeBase + " failed:\n" + diagnostics.getDiagnostics().stream()
+                    .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                    .limit(10)
+                    .map(Object::toString)
+                    .collect(Collectors.joining("\n")));
+
+        final Map<String, byte[]> generatedSources = fileManager.generatedSources();
+        final long generatedBytes = generatedSources.values().stream().mapToLong(s -> s.length).sum();
+
+        return new Result(processor.nanos, processor.rounds, peakHeapBytes, generatedBytes, generatedSources, fileManager.outputs());
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP)
+                pool.resetPeakUsage();
+    }
+
+    private static long peakHeapUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .mapToLong(p -> p.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    static final class Result {
+        final long processorNanos;
+        final int rounds;
+        final long peakHeapBytes;
+        final long generatedBytes;
+        final Map<String, byte[]> generatedSources;
+        final Map<String, byte[]> outputs;
+
+        Result(long processorNanos, int rounds, long peakHeapBytes, long generatedBytes, Map<String, byte[]> generatedSources,
+               Map<String, byte[]> outputs) {
+            this.processorNanos = processorNanos;
+            this.rounds = rounds;
+            this.peakHeapBytes = peakHeapBytes;
+            this.generatedBytes = generatedBytes;
+            this.generatedSources = generatedSources;
+            this.outputs = outputs;
+        }
+    }
+
+    /**
+     * Measures the time spent in {@link Processor#process(Set, RoundEnvironment)} and counts the rounds.
+     */
+    private static final class TimingProcessor implements Processor {
+        private final Processor delegate;
+        private long nanos;
+        private int rounds;
+
+        TimingProcessor(Processor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Set<String> getSupportedOptions() {
+            return delegate.getSupportedOptions();
+        }
+
+        @Override
+        public Set<String> getSupportedAnnotationTypes() {
+            return delegate.getSupportedAnnotationTypes();
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return delegate.getSupportedSourceVersion();
+        }
+
+        @Override
+        public void init(ProcessingEnvironment processingEnv) {
+            delegate.init(processingEnv);
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            final long start = System.nanoTime();
+            try {
+                return delegate.process(annotations, roundEnv);
+            } finally {
+                nanos += System.nanoTime() - start;
+                ++rounds;
+            }
+        }
+
+        @Override
+        public Iterable<? extends Completion> getCompletions(Element element, AnnotationMirror annotation, ExecutableElement member, String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+}
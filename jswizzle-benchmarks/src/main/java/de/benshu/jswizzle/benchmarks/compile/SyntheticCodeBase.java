@@ -0,0 +1,131 @@
+package de.benshu.jswizzle.benchmarks.compile;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a synthetic code base of {@code classes} value classes with {@code properties} properties each. With a
+ * {@code genericDepth} above zero every value class extends a chain of generic base classes of that length, each of
+ * which contributes one inherited property.
+ */
+final class SyntheticCodeBase {
+    enum Mix {
+        DATA(true, false),
+        COPYABLE(false, true),
+        BOTH(true, true);
+
+        final boolean data;
+        final boolean copyable;
+
+        Mix(boolean data, boolean copyable) {
+            this.data = data;
+            this.copyable = copyable;
+        }
+    }
+
+    private static final String PACKAGE = "synthetic";
+    private static final String[] PROPERTY_TYPES = {"int", "long", "double", "String", "java.util.List<String>"};
+
+    private final int classes;
+    private final int properties;
+    private final int genericDepth;
+    private final Mix mix;
+
+    SyntheticCodeBase(int classes, int properties, int genericDepth, Mix mix) {
+        this.classes = classes;
+        this.properties = properties;
+        this.genericDepth = genericDepth;
+        this.mix = mix;
+    }
+
+    /**
+     * @return the sources by qualified type name
+     */
+    Map<String, String> generate() {
+        final Map<String, String> sources = new LinkedHashMap<>();
+
+        for (int level = 1; level <= genericDepth; ++level)
+            sources.put(PACKAGE + ".Level" + level, levelSource(level));
+
+        for (int i = 0; i < classes; ++i)
+            sources.put(PACKAGE + ".Value" + i, valueSource(i));
+
+        return sources;
+    }
+
+    private String levelSource(int level) {
+        final StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n\n")
+                .append("public abstract class Level").append(level).append("<T")
+                .append(level).append(">")
+                .append(level > 1 ? " extends Level" + (level - 1) + "<T" + level + ">" : "")
+                .append(" {\n")
+                .append("    final T").append(level).append(" inherited").append(level).append(";\n\n")
+                .append("    protected Level").append(level).append("(");
+
+        for (int l = 1; l <= level; ++l)
+            source.append(l > 1 ? ", " : "").append("T").append(level).append(" inherited").append(l);
+
+        source.append(") {\n");
+        if (level > 1) {
+            source.append("        super(");
+            for (int l = 1; l < level; ++l)
+                source.append(l > 1 ? ", " : "").append("inherited").append(l);
+            source.append(");\n");
+        }
+
+        return source.append("        this.inherited").append(level).append(" = inherited").append(level).append(";\n")
+                .append("    }\n")
+                .append("}\n")
+                .toString();
+    }
+
+    private String valueSource(int index) {
+        final String name = "Value" + index;
+        final List<String> parameters = new ArrayList<>();
+
+        final StringBuilder source = new StringBuilder()
+                .append("package ").append(PACKAGE).append(";\n\n");
+
+        if (mix.data)
+            source.append("@de.benshu.jswizzle.data.Data\n");
+        if (mix.copyable)
+            source.append("@de.benshu.jswizzle.copyable.Copyable\n");
+
+        source.append("public class ").append(name)
+                .append(genericDepth > 0 ? " extends Level" + genericDepth + "<String>" : "")
+                .append(" implements ").append(name).append("Mixin {\n");
+
+        for (int p = 0; p < properties; ++p) {
+            final String type = PROPERTY_TYPES[p % PROPERTY_TYPES.length];
+            source.append("    final ").append(type).append(" property").append(p).append(";\n");
+            parameters.add(type + " property" + p);
+        }
+
+        for (int l = 1; l <= genericDepth; ++l)
+            parameters.add("String inherited" + l);
+
+        source.append("\n    public ").append(name).append("(").append(String.join(", ", parameters)).append(") {\n");
+
+        if (genericDepth > 0) {
+            source.append("        super(");
+            for (int l = 1; l <= genericDepth; ++l)
+                source.append(l > 1 ? ", " : "").append("inherited").append(l);
+            source.append(");\n");
+        }
+
+        for (int p = 0; p < properties; ++p)
+            source.append("        this.property").append(p).append(" = property").append(p).append(";\n");
+
+        return source.append("    }\n")
+                .append("}\n")
+                .toString();
+    }
+
+    @Override
+    public String toString() {
+        return classes + " classes, " + properties + " properties, generic depth " + genericDepth + ", " + mix.name().toLowerCase();
+    }
+}
@@ -0,0 +1,125 @@
+package de.benshu.jswizzle.cli;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the mixins of many modules in one JVM, running {@link de.benshu.jswizzle.processor.SwizzleProcessor} with
+ * {@code -proc:only} on a pool of worker threads, one compilation task per module.
+ * <p>
+ * Usage: {@code JSwizzleCli [--classpath <path>] [--threads <n>] [--source <version>] [--modules <file>] [-A<option>=<value>...]
+ * <source roots>=<output directory>...}. The class path is shared by all modules. A modules file lists one module per
+ * line, in the same form as on the command line.
+ */
+public final class JSwizzleCli {
+    public static void main(String[] args) throws InterruptedException {
+        List<File> classPath = Collections.emptyList();
+        int threads = Runtime.getRuntime().availableProcessors();
+        final List<Module> modules = new ArrayList<>();
+        final List<String> options = new ArrayList<>(Arrays.asList("-proc:only", "-encoding", "UTF-8", "-implicit:none"));
+
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "--classpath":
+                    classPath = Arrays.stream(args[++i].split(File.pathSeparator))
+                            .filter(e -> !e.isEmpty())
+                            .map(File::new)
+                            .collect(Collectors.toList());
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--source":
+                    options.add("-source");
+                    options.add(args[++i]);
+                    break;
+                case "--modules":
+                    modules.addAll(readModules(args[++i]));
+                    break;
+                default:
+                    if (args[i].startsWith("-A"))
+                        options.add(args[i]);
+                    else if (args[i].startsWith("-"))
+                        throw new IllegalArgumentException("Unknown argument: " + args[i]);
+                    else
+                        modules.add(Module.parse(args[i]));
+            }
+        }
+
+        final List<ModuleGeneration.Result> results = generate(modules, classPath, threads, options);
+
+        boolean success = true;
+        for (ModuleGeneration.Result result : results) {
+            result.messages.forEach(System.err::println);
+            System.out.printf("%-70s %6d sources %6d mixins %10.1f ms%s%n", result.module, result.sourceFiles,
+                    result.generatedFiles, result.nanos / 1e6, result.success ? "" : "  FAILED");
+            success &= result.success;
+        }
+
+        System.exit(success ? 0 : 1);
+    }
+
+    static List<ModuleGeneration.Result> generate(List<Module> modules, List<File> classPath, int threads, List<String> options) throws InterruptedException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null)
+            throw new IllegalStateException("No system Java compiler available; run on a JDK.");
+
+        final List<StandardJavaFileManager> fileManagers = Collections.synchronizedList(new ArrayList<>());
+        final ThreadLocal<StandardJavaFileManager> fileManager = ThreadLocal.withInitial(() -> {
+            final StandardJavaFileManager m = ModuleGeneration.createFileManager(compiler, classPath);
+            fileManagers.add(m);
+            return m;
+        });
+
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<ModuleGeneration.Result>> futures = new ArrayList<>();
+            for (Module module : modules)
+                futures.add(pool.submit(new ModuleGeneration(compiler, fileManager, module, options)));
+
+            final List<ModuleGeneration.Result> results = new ArrayList<>();
+            for (Future<ModuleGeneration.Result> future : futures)
+                results.add(future.get());
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating mixins failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+            for (StandardJavaFileManager m : fileManagers)
+                try {
+                    m.close();
+                } catch (IOException e) {
+                    // nothing left to do with it
+                }
+        }
+    }
+
+    private static List<Module> readModules(String file) {
+        try {
+            return Files.readAllLines(Paths.get(file)).stream()
+                    .map(String::trim)
+                    .filter(l -> !l.isEmpty() && !l.startsWith("#"))
+                    .map(Module::parse)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package de.benshu.jswizzle.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A set of source roots whose mixins are generated into one output directory.
+ */
+final class Module {
+    /**
+     * Parses {@code <source root>[<path separator><source root>...]=<output directory>}.
+     */
+    static Module parse(String specification) {
+        final int separator = specification.lastIndexOf('=');
+        if (separator <= 0 || separator == specification.length() - 1)
+            throw new IllegalArgumentException("Expected <source roots>=<output directory>, got: " + specification);
+
+        final List<Path> sourceRoots = Arrays.stream(specification.substring(0, separator).split(File.pathSeparator))
+                .map(Paths::get)
+                .collect(Collectors.toList());
+
+        return new Module(sourceRoots, Paths.get(specification.substring(separator + 1)));
+    }
+
+    private final List<Path> sourceRoots;
+    private final Path output;
+
+    Module(List<Path> sourceRoots, Path output) {
+        this.sourceRoots = sourceRoots;
+        this.output = output;
+    }
+
+    List<Path> getSourceRoots() {
+        return sourceRoots;
+    }
+
+    Path getOutput() {
+        return output;
+    }
+
+    List<File> sourceFiles() {
+        return sourceRoots.stream()
+                .flatMap(Module::javaFilesIn)
+                .map(Path::toFile)
+                .collect(Collectors.toList());
+    }
+
+    private static Stream<Path> javaFilesIn(Path root) {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(f -> f.toString().endsWith(".java") && Files.isRegularFile(f))
+                    .collect(Collectors.toList())
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sourceRoots.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+    }
+}
@@ -0,0 +1,116 @@
+package de.benshu.jswizzle.cli;
+
+import de.benshu.jswizzle.processor.SwizzleProcessor;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link SwizzleProcessor} with {@code -proc:only} over the sources of a module.
+ * <p>
+ * File managers are not thread-safe, but expensive to set up for large class paths: they open and index every archive.
+ * So every worker thread keeps its own, configured with the shared class path once, and reuses it for all modules it
+ * generates.
+ */
+final class ModuleGeneration implements Callable<ModuleGeneration.Result> {
+    private final JavaCompiler compiler;
+    private final ThreadLocal<StandardJavaFileManager> fileManagers;
+    private final Module module;
+    private final List<String> options;
+
+    ModuleGeneration(JavaCompiler compiler, ThreadLocal<StandardJavaFileManager> fileManagers, Module module, List<String> options) {
+        this.compiler = compiler;
+        this.fileManagers = fileManagers;
+        this.module = module;
+        this.options = options;
+    }
+
+    @Override
+    public Result call() throws IOException {
+        final long start = System.nanoTime();
+
+        final StandardJavaFileManager fileManager = fileManagers.get();
+        final List<File> sourceRoots = new ArrayList<>();
+        module.getSourceRoots().forEach(r -> sourceRoots.add(r.toFile()));
+
+        Files.createDirectories(module.getOutput());
+        fileManager.setLocation(StandardLocation.SOURCE_PATH, sourceRoots);
+        fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(module.getOutput().toFile()));
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(module.getOutput().toFile()));
+
+        final AtomicInteger generated = new AtomicInteger();
+        final JavaFileManager countingFileManager = new ForwardingJavaFileManager<JavaFileManager>(fileManager) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) throws IOException {
+                if (location == StandardLocation.SOURCE_OUTPUT)
+                    generated.incrementAndGet();
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+        };
+
+        final List<File> sourceFiles = module.sourceFiles();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        final boolean success;
+        if (sourceFiles.isEmpty())
+            success = true;
+        else {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, countingFileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+            // Setting the processor explicitly keeps javac from looking for further processors on the class path.
+            task.setProcessors(Collections.singletonList(new SwizzleProcessor()));
+            success = task.call();
+        }
+
+        final List<String> messages = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics())
+            if (d.getKind() == Diagnostic.Kind.ERROR || d.getKind() == Diagnostic.Kind.WARNING || d.getKind() == Diagnostic.Kind.MANDATORY_WARNING)
+                messages.add(d.toString());
+
+        return new Result(module, success, sourceFiles.size(), generated.get(), System.nanoTime() - start, messages);
+    }
+
+    static StandardJavaFileManager createFileManager(JavaCompiler compiler, List<File> classPath) {
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+        try {
+            fileManager.setLocation(StandardLocation.CLASS_PATH, classPath);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid class path: " + classPath, e);
+        }
+        return fileManager;
+    }
+
+    static final class Result {
+        final Module module;
+        final boolean success;
+        final int sourceFiles;
+        final int generatedFiles;
+        final long nanos;
+        final List<String> messages;
+
+        Result(Module module, boolean success, int sourceFiles, int generatedFiles, long nanos, List<String> messages) {
+            this.module = module;
+            this.success = success;
+            this.sourceFiles = sourceFiles;
+            this.generatedFiles = generatedFiles;
+            this.nanos = nanos;
+            this.messages = messages;
+        }
+    }
+}
@@ -4,7 +4,40 @@ import de.benshu.jswizzle.model.MixinComponent;
 import de.benshu.jswizzle.model.Reflection;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 public abstract class MixinComputer {
     public abstract MixinComponent computeFor(Reflection reflection, Element e);
+
+    /**
+     * Computes the components for all elements of a mix which are annotated with this computer's annotation. Computers
+     * which can share work between the elements of a mix, e.g. merge them into a single component, should override
+     * this. By default each element is computed on its own.
+     * <p>
+     * Mixins are computed and written one after the other, so this is only ever passed the elements of a single mix.
+     * Computers sharing work between the mixes of a round have to cache it instead, and drop it in
+     * {@link #roundFinished()}.
+     * <p>
+     * The elements are passed in declaration order, the mix itself first. Generated output is expected to depend on
+     * nothing but the elements and their order, so that compiling the same sources twice yields the same bytes.
+     */
+    public Stream<MixinComponent> computeAll(Reflection reflection, Collection<? extends Element> elements) {
+        return elements.stream().map(e -> computeFor(reflection, e));
+    }
+
+    /**
+     * Invoked once the mixins of a round have been generated. Computers live as long as the processor, so those which
+     * cache parts of a round's element model, e.g. to share them between mixes, must drop them here.
+     */
+    public void roundFinished() {
+    }
+
+    /**
+     * @return the type whose mixin the component computed for the given element will be part of
+     */
+    public TypeElement mixOf(Element e) {
+        return e instanceof TypeElement ? (TypeElement) e : (TypeElement) e.getEnclosingElement();
+    }
 }
@@ -0,0 +1,29 @@
+package de.benshu.jswizzle.binary;
+
+import de.benshu.jswizzle.Swizzle;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates {@code writeTo(ByteBuffer)}, {@code writeTo(DataOutput)} and a static {@code readFrom(ByteBuffer)} for
+ * the properties taken by the mix's copy constructor or factory.
+ * <p>
+ * The mixin is package-private and static interface methods aren't inherited, so {@code readFrom} is reachable as
+ * {@code XMixin.readFrom} within the mix's package only. Mixes which are read elsewhere have to declare a static
+ * factory delegating to it.
+ * <p>
+ * Collections of boxed primitives mustn't contain {@code null}. The {@code writeTo} methods throw a
+ * {@link NullPointerException} naming the property; {@code writeTo(ByteBuffer)} resets the buffer's position first.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Swizzle(computer = BinaryComputer.class)
+public @interface Binary {
+    /**
+     * Written to the header, so that {@code readFrom} rejects data written by an incompatible version of the mix.
+     */
+    short version() default 1;
+}
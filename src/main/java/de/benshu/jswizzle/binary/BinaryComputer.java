@@ -0,0 +1,539 @@
+package de.benshu.jswizzle.binary;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import de.benshu.jswizzle.MixinComputer;
+import de.benshu.jswizzle.copyable.CopyableComputer;
+import de.benshu.jswizzle.internal.Statistics;
+import de.benshu.jswizzle.internal.Template;
+import de.benshu.jswizzle.model.FieldDeclaration;
+import de.benshu.jswizzle.model.FullyQualifiedName;
+import de.benshu.jswizzle.model.Identifier;
+import de.benshu.jswizzle.model.ImportTable;
+import de.benshu.jswizzle.model.LocalVariableDeclaration;
+import de.benshu.jswizzle.model.MemberDeclaration;
+import de.benshu.jswizzle.model.MethodDeclaration;
+import de.benshu.jswizzle.model.MixinComponent;
+import de.benshu.jswizzle.model.ParameterizedExecutableElementReflection;
+import de.benshu.jswizzle.model.Reflection;
+import de.benshu.jswizzle.model.Type;
+import de.benshu.jswizzle.model.TypeDeclaration;
+import org.kohsuke.MetaInfServices;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.google.common.collect.Maps.immutableEntry;
+import static de.benshu.commons.core.streams.Collectors.list;
+import static java.util.stream.Collectors.joining;
+
+@MetaInfServices(BinaryComputer.class)
+public class BinaryComputer extends MixinComputer {
+    private static final FullyQualifiedName BYTE_BUFFER = FullyQualifiedName.of(ByteBuffer.class.getName());
+    private static final FullyQualifiedName DATA_OUTPUT = FullyQualifiedName.of(DataOutput.class.getName());
+    private static final FullyQualifiedName IO_EXCEPTION = FullyQualifiedName.of(IOException.class.getName());
+    private static final FullyQualifiedName ILLEGAL_ARGUMENT_EXCEPTION = FullyQualifiedName.of(IllegalArgumentException.class.getName());
+    private static final FullyQualifiedName NULL_POINTER_EXCEPTION = FullyQualifiedName.of(NullPointerException.class.getName());
+
+    /**
+     * The implementations {@code readFrom} collects elements in, by the collection types it supports.
+     */
+    private static final ImmutableMap<String, FullyQualifiedName> COLLECTION_IMPLEMENTATIONS = ImmutableMap.of(
+            Collection.class.getName(), FullyQualifiedName.of(ArrayList.class.getName()),
+            List.class.getName(), FullyQualifiedName.of(ArrayList.class.getName()),
+            Set.class.getName(), FullyQualifiedName.of(LinkedHashSet.class.getName())
+    );
+
+    private static final ImmutableMap<String, Encoding> BOXED_ENCODINGS = ImmutableMap.<String, Encoding>builder()
+            .put(Boolean.class.getName(), Encoding.BOOLEAN)
+            .put(Byte.class.getName(), Encoding.BYTE)
+            .put(Short.class.getName(), Encoding.SHORT)
+            .put(Character.class.getName(), Encoding.CHAR)
+            .put(Integer.class.getName(), Encoding.INT)
+            .put(Long.class.getName(), Encoding.LONG)
+            .put(Float.class.getName(), Encoding.FLOAT)
+            .put(Double.class.getName(), Encoding.DOUBLE)
+            .build();
+
+    /**
+     * The version and the number of fields, as two {@code short}s.
+     */
+    private static final int HEADER_SIZE = 4;
+
+    @Override
+    public MixinComponent computeFor(Reflection reflection, Element e) {
+        final TypeDeclaration mix = reflection.of((TypeElement) e);
+        final short version = e.getAnnotation(Binary.class).version();
+
+        final Optional<ParameterizedExecutableElementReflection> constructorOrFactory = CopyableComputer.findConstructorOrFactory(mix);
+        if (!constructorOrFactory.isPresent())
+            reflection.getProcessingEnvironment().getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@Binary requires a copy constructor or factory.", e);
+
+        final ImmutableList<Field> fields = constructorOrFactory.isPresent()
+                ? fieldsOf(reflection, mix, constructorOrFactory.get())
+                : ImmutableList.of();
+        final Optional<String> factoryName = constructorOrFactory
+                .filter(c -> c instanceof MethodDeclaration)
+                .map(c -> ((MethodDeclaration) c).getName());
+        final FullyQualifiedName qualifiedName = mix.getQualifiedName();
+
+        final Template.Engine engine = Template.Engine.selectedIn(reflection.getProcessingEnvironment());
+        final Statistics statistics = reflection.getStatistics();
+
+        return new MixinComponent() {
+            /**
+             * The type parameters of the static {@code readFrom}, rendered along with the names on the processor thread.
+             */
+            private String typeParameters;
+
+            @Override
+            public TypeDeclaration getMix() {
+                return mix;
+            }
+
+            @Override
+            public void allocateNames(ImportTable imports) {
+                imports.nameOf(mix.asType());
+                imports.nameOf(qualifiedName);
+                typeParameters = mix.getTypeParameters().isEmpty() ? "" : mix.getTypeParameters().asJavaSource(imports) + " ";
+                imports.nameOf(BYTE_BUFFER);
+                imports.nameOf(DATA_OUTPUT);
+                imports.nameOf(IO_EXCEPTION);
+                imports.nameOf(ILLEGAL_ARGUMENT_EXCEPTION);
+                imports.nameOf(NULL_POINTER_EXCEPTION);
+                fields.forEach(f -> f.allocateNames(imports));
+            }
+
+            @Override
+            public void writeBody(Appendable out, ImportTable imports) throws IOException {
+                if (!constructorOrFactory.isPresent())
+                    return;
+
+                final long start = statistics.startTimer();
+                final String mixType = imports.nameOf(mix.asType());
+                final String current = "((" + mixType + ") this).";
+
+                final ImmutableList<Snippets> fixed = fields.stream()
+                        .filter(Field::isFixed)
+                        .map(f -> f.snippetsFor(imports, current))
+                        .collect(list());
+                final ImmutableList<Snippets> variable = fields.stream()
+                        .filter(f -> !f.isFixed())
+                        .map(f -> f.snippetsFor(imports, current))
+                        .collect(list());
+                final String copyInvocation = (factoryName.isPresent() ? imports.nameOf(qualifiedName) + "." + factoryName.get() : "new " + mixType)
+                        + fields.stream().map(Field::getLocal).collect(joining(", ", "(", ")"));
+
+                final int fixedSize = HEADER_SIZE + fields.stream().filter(Field::isFixed).mapToInt(f -> f.getEncoding().getSize()).sum();
+
+                if (engine == Template.Engine.FREEMARKER)
+                    Template.render("binary.java.template", ImmutableMap.<String, Object>builder()
+                            .put("mixType", mixType)
+                            .put("typeParameters", typeParameters)
+                            .put("byteBufferType", imports.nameOf(BYTE_BUFFER))
+                            .put("dataOutputType", imports.nameOf(DATA_OUTPUT))
+                            .put("ioExceptionType", imports.nameOf(IO_EXCEPTION))
+                            .put("illegalArgumentExceptionType", imports.nameOf(ILLEGAL_ARGUMENT_EXCEPTION))
+                            .put("version", version)
+                            .put("fieldCount", fields.size())
+                            .put("fixedSize", fixedSize)
+                            .put("fixed", fixed)
+                            .put("variable", variable)
+                            .put("copyInvocation", copyInvocation)
+                            .build(), out);
+                else
+                    BinaryEmitter.emit(out, mixType, typeParameters, imports.nameOf(BYTE_BUFFER), imports.nameOf(DATA_OUTPUT), imports.nameOf(IO_EXCEPTION),
+                            imports.nameOf(ILLEGAL_ARGUMENT_EXCEPTION), version, fields.size(), fixedSize, fixed, variable, copyInvocation);
+
+                statistics.templateRendered("binary.java.template", start);
+            }
+        };
+    }
+
+    /**
+     * Pairs the parameters of the constructor or factory with the fields and getters of the mix by name, like
+     * {@code @Copyable} does. Primitive fields are laid out at fixed offsets following the header, in parameter order.
+     */
+    private ImmutableList<Field> fieldsOf(Reflection reflection, TypeDeclaration mix, ParameterizedExecutableElementReflection constructorOrFactory) {
+        final Map<Identifier, String> accessors = new HashMap<>();
+        mix.allMemberDeclarations()
+                .filter(m -> !m.isPrivate())
+                .flatMap(this::toAccessor)
+                .forEach(a -> accessors.putIfAbsent(a.getKey(), a.getValue()));
+
+        final ImmutableList.Builder<Field> fields = ImmutableList.builder();
+        int offset = HEADER_SIZE;
+        for (LocalVariableDeclaration parameter : constructorOrFactory.getParameters()) {
+            final Identifier name = Identifier.from(parameter.getName());
+            final String accessor = accessors.getOrDefault(name, "NO_SUCH_PROPERTY_" + name.getScreamingSnakeCased());
+            final Field field = toField(reflection, name, parameter.getType(), accessor, offset);
+
+            fields.add(field);
+            if (field.isFixed())
+                offset += field.getEncoding().getSize();
+        }
+        return fields.build();
+    }
+
+    private Stream<Map.Entry<Identifier, String>> toAccessor(MemberDeclaration member) {
+        switch (member.getKind()) {
+            case FIELD:
+                final FieldDeclaration field = (FieldDeclaration) member;
+                return Stream.of(immutableEntry(Identifier.from(field.getName()), field.getName()));
+            case METHOD:
+                final MethodDeclaration method = (MethodDeclaration) member;
+                return method.isGetter()
+                        ? Stream.of(immutableEntry(method.getPropertyName(), method.getName() + "()"))
+                        : Stream.empty();
+            default:
+                return Stream.empty();
+        }
+    }
+
+    private Field toField(Reflection reflection, Identifier name, Type type, String accessor, int offset) {
+        final TypeMirror mirror = type.getMirror();
+
+        if (mirror.getKind().isPrimitive())
+            return new Field(name, type, accessor, Encoding.of(mirror.getKind()), offset, Optional.empty(), Optional.empty());
+        else if (isString(mirror))
+            return new Field(name, type, accessor, Encoding.STRING, offset, Optional.empty(), Optional.empty());
+        else if (mirror.getKind() != TypeKind.DECLARED)
+            return new Field(name, type, accessor, Encoding.UNSUPPORTED, offset, Optional.empty(), Optional.empty());
+
+        final DeclaredType declared = (DeclaredType) mirror;
+        final FullyQualifiedName implementation = COLLECTION_IMPLEMENTATIONS.get(((TypeElement) declared.asElement()).getQualifiedName().toString());
+        if (implementation == null || declared.getTypeArguments().size() != 1)
+            return new Field(name, type, accessor, Encoding.UNSUPPORTED, offset, Optional.empty(), Optional.empty());
+
+        final TypeMirror element = declared.getTypeArguments().get(0);
+        final Encoding elementEncoding = isString(element) ? Encoding.STRING
+                : element.getKind() == TypeKind.DECLARED
+                ? BOXED_ENCODINGS.getOrDefault(((TypeElement) ((DeclaredType) element).asElement()).getQualifiedName().toString(), Encoding.UNSUPPORTED)
+                : Encoding.UNSUPPORTED;
+        if (elementEncoding == Encoding.UNSUPPORTED)
+            return new Field(name, type, accessor, Encoding.UNSUPPORTED, offset, Optional.empty(), Optional.empty());
+
+        return new Field(name, type, accessor, Encoding.COLLECTION, offset, Optional.of(implementation),
+                Optional.of(new CollectionElement(reflection.of(element), elementEncoding)));
+    }
+
+    private static boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(String.class.getName());
+    }
+
+    /**
+     * How a value is laid out. Primitives take a fixed number of bytes, as written by {@link ByteBuffer} and
+     * {@link DataOutput}; {@code boolean}s take one. Strings are prefixed by their length, or {@code -1} for
+     * {@code null}, and followed by their {@code char}s. Collections are prefixed by their size, or {@code -1}, and
+     * followed by their elements, each laid out like a field.
+     */
+    enum Encoding {
+        BOOLEAN(1, "put", "get", "writeBoolean"),
+        BYTE(1, "put", "get", "writeByte"),
+        SHORT(2, "putShort", "getShort", "writeShort"),
+        CHAR(2, "putChar", "getChar", "writeChar"),
+        INT(4, "putInt", "getInt", "writeInt"),
+        LONG(8, "putLong", "getLong", "writeLong"),
+        FLOAT(4, "putFloat", "getFloat", "writeFloat"),
+        DOUBLE(8, "putDouble", "getDouble", "writeDouble"),
+        STRING(0, null, null, null),
+        COLLECTION(0, null, null, null),
+        UNSUPPORTED(0, null, null, null);
+
+        private final int size;
+        private final String put;
+        private final String get;
+        private final String write;
+
+        Encoding(int size, String put, String get, String write) {
+            this.size = size;
+            this.put = put;
+            this.get = get;
+            this.write = write;
+        }
+
+        static Encoding of(TypeKind kind) {
+            switch (kind) {
+                case BOOLEAN:
+                    return BOOLEAN;
+                case BYTE:
+                    return BYTE;
+                case SHORT:
+                    return SHORT;
+                case CHAR:
+                    return CHAR;
+                case INT:
+                    return INT;
+                case LONG:
+                    return LONG;
+                case FLOAT:
+                    return FLOAT;
+                case DOUBLE:
+                    return DOUBLE;
+                default:
+                    throw new AssertionError();
+            }
+        }
+
+        boolean isFixed() {
+            return size > 0;
+        }
+
+        int getSize() {
+            return size;
+        }
+
+        /**
+         * @return the statement putting {@code value} into {@code buffer}, at {@code index} unless it's empty
+         */
+        String putOf(String value, Optional<String> index) {
+            final String argument = this == BOOLEAN ? "(byte) (" + value + " ? 1 : 0)" : value;
+            return "buffer." + put + "(" + index.map(i -> i + ", ").orElse("") + argument + ");";
+        }
+
+        /**
+         * @return the expression getting a value from {@code buffer}, at {@code index} unless it's empty
+         */
+        String getOf(Optional<String> index) {
+            return "buffer." + get + "(" + index.orElse("") + ")" + (this == BOOLEAN ? " != 0" : "");
+        }
+
+        String writeOf(String value) {
+            return "out." + write + "(" + value + ");";
+        }
+    }
+
+    static class CollectionElement {
+        private final Type type;
+        private final Encoding encoding;
+
+        CollectionElement(Type type, Encoding encoding) {
+            this.type = type;
+            this.encoding = encoding;
+        }
+    }
+
+    static class Field {
+        private final Identifier name;
+        private final Type type;
+        private final String accessor;
+        private final Encoding encoding;
+        private final int offset;
+        private final Optional<FullyQualifiedName> implementation;
+        private final Optional<CollectionElement> element;
+
+        Field(Identifier name, Type type, String accessor, Encoding encoding, int offset, Optional<FullyQualifiedName> implementation,
+              Optional<CollectionElement> element) {
+            this.name = name;
+            this.type = type;
+            this.accessor = accessor;
+            this.encoding = encoding;
+            this.offset = offset;
+            this.implementation = implementation;
+            this.element = element;
+        }
+
+        boolean isFixed() {
+            return encoding.isFixed();
+        }
+
+        Encoding getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * @return the local {@code readFrom} reads the field into
+         */
+        String getLocal() {
+            return "new" + name.getPascalCased();
+        }
+
+        void allocateNames(ImportTable imports) {
+            imports.nameOf(type);
+            implementation.ifPresent(imports::nameOf);
+            element.ifPresent(e -> imports.nameOf(e.type));
+        }
+
+        Snippets snippetsFor(ImportTable imports, String current) {
+            final String value = current + accessor;
+            final String typeName = imports.nameOf(type);
+            final Optional<String> index = Optional.of("start + " + offset);
+
+            switch (encoding) {
+                case STRING:
+                    return new Snippets(
+                            block(line(2, "final " + typeName + " value = " + value + ";") + putString("value", 2, "i")),
+                            block(line(2, "final " + typeName + " value = " + value + ";") + writeString("value", 2)),
+                            line(1, "final " + typeName + " " + getLocal() + ";") + block(getString(getLocal(), 2, "i")));
+                case COLLECTION:
+                    return new Snippets(
+                            block(line(2, "final " + typeName + " value = " + value + ";") + putCollection(imports)),
+                            block(line(2, "final " + typeName + " value = " + value + ";") + writeCollection(imports)),
+                            line(1, "final " + typeName + " " + getLocal() + ";") + block(getCollection(imports)));
+                case UNSUPPORTED:
+                    // An undefined identifier, so that the generated source fails to compile with a telling message.
+                    return new Snippets("", "", line(1, "final " + typeName + " " + getLocal() + " = NO_BINARY_FORM_" + name.getScreamingSnakeCased() + ";"));
+                default:
+                    return new Snippets(
+                            line(1, encoding.putOf(value, index)),
+                            line(1, encoding.writeOf(value)),
+                            line(1, "final " + typeName + " " + getLocal() + " = " + encoding.getOf(index) + ";"));
+            }
+        }
+
+        private String putCollection(ImportTable imports) {
+            final CollectionElement element = this.element.get();
+
+            return line(2, "if (value == null)")
+                    + line(3, "buffer.putInt(-1);")
+                    + line(2, "else {")
+                    + line(3, "buffer.putInt(value.size());")
+                    + line(3, "for (" + imports.nameOf(element.type) + " element : value) {")
+                    + (element.encoding == Encoding.STRING
+                    ? putString("element", 4, "j")
+                    : line(4, "if (element == null) {")
+                    + line(5, "buffer.position(start);")
+                    + line(5, nullElementThrow(imports))
+                    + line(4, "}")
+                    + line(4, element.encoding.putOf("element", Optional.empty())))
+                    + line(3, "}")
+                    + line(2, "}");
+        }
+
+        private String writeCollection(ImportTable imports) {
+            final CollectionElement element = this.element.get();
+
+            return line(2, "if (value == null)")
+                    + line(3, "out.writeInt(-1);")
+                    + line(2, "else {")
+                    + line(3, "out.writeInt(value.size());")
+                    + line(3, "for (" + imports.nameOf(element.type) + " element : value) {")
+                    + (element.encoding == Encoding.STRING
+                    ? writeString("element", 4)
+                    : line(4, "if (element == null)")
+                    + line(5, nullElementThrow(imports))
+                    + line(4, element.encoding.writeOf("element")))
+                    + line(3, "}")
+                    + line(2, "}");
+        }
+
+        /**
+         * Boxed elements have no encoding for {@code null}, so they are rejected by name rather than by unboxing.
+         */
+        private String nullElementThrow(ImportTable imports) {
+            return "throw new " + imports.nameOf(NULL_POINTER_EXCEPTION) + "(\"" + name.getCamelCased() + " contains null.\");";
+        }
+
+        private String getCollection(ImportTable imports) {
+            final CollectionElement element = this.element.get();
+            final String elementType = imports.nameOf(element.type);
+
+            return line(2, "final int size = buffer.getInt();")
+                    + line(2, "if (size < 0)")
+                    + line(3, getLocal() + " = null;")
+                    + line(2, "else {")
+                    + line(3, "final " + imports.nameOf(implementation.get()) + "<" + elementType + "> elements = new " + imports.nameOf(implementation.get()) + "<>();")
+                    + (element.encoding == Encoding.STRING
+                    ? line(3, "for (int i = 0; i < size; ++i) {")
+                    + line(4, "final " + elementType + " element;")
+                    + line(4, "{")
+                    + getString("element", 5, "j")
+                    + line(4, "}")
+                    + line(4, "elements.add(element);")
+                    + line(3, "}")
+                    : line(3, "for (int i = 0; i < size; ++i)")
+                    + line(4, "elements.add(" + element.encoding.getOf(Optional.empty()) + ");"))
+                    + line(3, getLocal() + " = elements;")
+                    + line(2, "}");
+        }
+
+        private static String putString(String value, int depth, String index) {
+            return line(depth, "if (" + value + " == null)")
+                    + line(depth + 1, "buffer.putInt(-1);")
+                    + line(depth, "else {")
+                    + line(depth + 1, "buffer.putInt(" + value + ".length());")
+                    + line(depth + 1, "for (int " + index + " = 0; " + index + " < " + value + ".length(); ++" + index + ")")
+                    + line(depth + 2, "buffer.putChar(" + value + ".charAt(" + index + "));")
+                    + line(depth, "}");
+        }
+
+        private static String writeString(String value, int depth) {
+            return line(depth, "if (" + value + " == null)")
+                    + line(depth + 1, "out.writeInt(-1);")
+                    + line(depth, "else {")
+                    + line(depth + 1, "out.writeInt(" + value + ".length());")
+                    + line(depth + 1, "out.writeChars(" + value + ");")
+                    + line(depth, "}");
+        }
+
+        private static String getString(String target, int depth, String index) {
+            return line(depth, "final int length = buffer.getInt();")
+                    + line(depth, "if (length < 0)")
+                    + line(depth + 1, target + " = null;")
+                    + line(depth, "else {")
+                    + line(depth + 1, "final char[] chars = new char[length];")
+                    + line(depth + 1, "for (int " + index + " = 0; " + index + " < length; ++" + index + ")")
+                    + line(depth + 2, "chars[" + index + "] = buffer.getChar();")
+                    + line(depth + 1, target + " = new String(chars);")
+                    + line(depth, "}");
+        }
+
+        private static String block(String statements) {
+            return line(1, "{") + statements + line(1, "}");
+        }
+
+        /**
+         * @return the given statement, indented for a method body {@code depth} blocks deep
+         */
+        private static String line(int depth, String statement) {
+            return Strings.repeat("    ", depth + 1) + statement + "\n";
+        }
+    }
+
+    /**
+     * The statements writing a field to a {@link ByteBuffer} and a {@link DataOutput}, and reading it from a
+     * {@link ByteBuffer} into {@link Field#getLocal() its local}.
+     */
+    public static class Snippets {
+        private final String bufferWrite;
+        private final String outputWrite;
+        private final String bufferRead;
+
+        public Snippets(String bufferWrite, String outputWrite, String bufferRead) {
+            this.bufferWrite = bufferWrite;
+            this.outputWrite = outputWrite;
+            this.bufferRead = bufferRead;
+        }
+
+        public String getBufferWrite() {
+            return bufferWrite;
+        }
+
+        public String getOutputWrite() {
+            return outputWrite;
+        }
+
+        public String getBufferRead() {
+            return bufferRead;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package de.benshu.jswizzle.binary;
+
+import java.io.IOException;
+
+/**
+ * Compiled form of {@code binary.java.template}.
+ */
+final class BinaryEmitter {
+    private BinaryEmitter() {}
+
+    static void emit(Appendable out, String mixType, String typeParameters, String byteBufferType, String dataOutputType,
+                     String ioExceptionType, String illegalArgumentExceptionType, short version, int fieldCount, int fixedSize,
+                     Iterable<BinaryComputer.Snippets> fixed, Iterable<BinaryComputer.Snippets> variable, String copyInvocation) throws IOException {
+        out.append("\n    default void writeTo(").append(byteBufferType).append(" buffer) {\n");
+        out.append("        final int start = buffer.position();\n");
+        out.append("        buffer.putShort(start, (short) ").append(String.valueOf(version)).append(");\n");
+        out.append("        buffer.putShort(start + 2, (short) ").append(String.valueOf(fieldCount)).append(");\n");
+        for (BinaryComputer.Snippets snippets : fixed)
+            out.append(snippets.getBufferWrite());
+        out.append("        buffer.position(start + ").append(String.valueOf(fixedSize)).append(");\n");
+        for (BinaryComputer.Snippets snippets : variable)
+            out.append(snippets.getBufferWrite());
+        out.append("    }\n");
+
+        out.append("\n    default void writeTo(").append(dataOutputType).append(" out) throws ").append(ioExceptionType).append(" {\n");
+        out.append("        out.writeShort(").append(String.valueOf(version)).append(");\n");
+        out.append("        out.writeShort(").append(String.valueOf(fieldCount)).append(");\n");
+        for (BinaryComputer.Snippets snippets : fixed)
+            out.append(snippets.getOutputWrite());
+        for (BinaryComputer.Snippets snippets : variable)
+            out.append(snippets.getOutputWrite());
+        out.append("    }\n");
+
+        out.append("\n    static ").append(typeParameters).append(mixType).append(" readFrom(").append(byteBufferType).append(" buffer) {\n");
+        out.append("        final int start = buffer.position();\n");
+        out.append("        if (buffer.getShort(start) != ").append(String.valueOf(version))
+                .append(" || buffer.getShort(start + 2) != ").append(String.valueOf(fieldCount)).append(")\n");
+        out.append("            throw new ").append(illegalArgumentExceptionType).append("(\"Expected version ").append(String.valueOf(version))
+                .append(" with ").append(String.valueOf(fieldCount)).append(" fields.\");\n");
+        for (BinaryComputer.Snippets snippets : fixed)
+            out.append(snippets.getBufferRead());
+        out.append("        buffer.position(start + ").append(String.valueOf(fixedSize)).append(");\n");
+        for (BinaryComputer.Snippets snippets : variable)
+            out.append(snippets.getBufferRead());
+        out.append("        return ").append(copyInvocation).append(";\n");
+        out.append("    }\n");
+    }
+}
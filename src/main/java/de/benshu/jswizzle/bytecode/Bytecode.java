@@ -0,0 +1,214 @@
+package de.benshu.jswizzle.bytecode;
+
+import org.objectweb.asm.Opcodes;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates javac's element model into the vocabulary of class files: internal names, descriptors and generic
+ * signatures. Must only be used on the processor thread.
+ */
+public final class Bytecode {
+    private final Elements elements;
+    private final Types types;
+
+    public Bytecode(ProcessingEnvironment processingEnvironment) {
+        this.elements = processingEnvironment.getElementUtils();
+        this.types = processingEnvironment.getTypeUtils();
+    }
+
+    public String internalNameOf(TypeElement type) {
+        return elements.getBinaryName(type).toString().replace('.', '/');
+    }
+
+    /**
+     * @return the internal name of the erasure of the given class, interface or array type
+     */
+    public String internalNameOf(TypeMirror type) {
+        return org.objectweb.asm.Type.getType(descriptorOf(type)).getInternalName();
+    }
+
+    public String descriptorOf(TypeMirror type) {
+        final TypeMirror erased = types.erasure(type);
+        switch (erased.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case CHAR:
+                return "C";
+            case SHORT:
+                return "S";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case VOID:
+                return "V";
+            case ARRAY:
+                return "[" + descriptorOf(((ArrayType) erased).getComponentType());
+            case DECLARED:
+                return "L" + internalNameOf((TypeElement) ((DeclaredType) erased).asElement()) + ";";
+            default:
+                throw new IllegalArgumentException("No descriptor for " + type + ".");
+        }
+    }
+
+    public String methodDescriptorOf(List<? extends TypeMirror> parameterTypes, TypeMirror returnType) {
+        final StringBuilder descriptor = new StringBuilder("(");
+        parameterTypes.forEach(t -> descriptor.append(descriptorOf(t)));
+        return descriptor.append(')').append(descriptorOf(returnType)).toString();
+    }
+
+    public String signatureOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return "[" + signatureOf(((ArrayType) type).getComponentType());
+            case DECLARED:
+                return classTypeSignatureOf((DeclaredType) type) + ";";
+            case TYPEVAR:
+                return "T" + ((TypeVariable) type).asElement().getSimpleName() + ";";
+            case WILDCARD:
+                final WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null)
+                    return "+" + signatureOf(wildcard.getExtendsBound());
+                if (wildcard.getSuperBound() != null)
+                    return "-" + signatureOf(wildcard.getSuperBound());
+                return "*";
+            default:
+                return descriptorOf(type);
+        }
+    }
+
+    /**
+     * @return the generic signature of a method with the given types, or {@code null} if its descriptor says it all
+     */
+    public String methodSignatureOf(List<? extends TypeMirror> parameterTypes, TypeMirror returnType) {
+        final StringBuilder signature = new StringBuilder("(");
+        parameterTypes.forEach(t -> signature.append(signatureOf(t)));
+        final String result = signature.append(')').append(signatureOf(returnType)).toString();
+
+        return result.equals(methodDescriptorOf(parameterTypes, returnType)) ? null : result;
+    }
+
+    /**
+     * @return the generic signature of an interface with the given type parameters and superinterfaces, or
+     * {@code null} if neither is generic
+     */
+    public String interfaceSignatureOf(List<? extends TypeParameterElement> typeParameters, List<? extends TypeMirror> superinterfaces) {
+        final StringBuilder signature = new StringBuilder();
+
+        if (!typeParameters.isEmpty()) {
+            signature.append('<');
+            for (TypeParameterElement typeParameter : typeParameters) {
+                signature.append(typeParameter.getSimpleName());
+
+                final List<? extends TypeMirror> bounds = typeParameter.getBounds();
+                if (isInterface(bounds.get(0)))
+                    signature.append(':');
+                for (TypeMirror bound : bounds)
+                    signature.append(':').append(signatureOf(bound));
+            }
+            signature.append('>');
+        }
+
+        signature.append("Ljava/lang/Object;");
+        superinterfaces.forEach(s -> signature.append(signatureOf(s)));
+
+        final boolean generic = !typeParameters.isEmpty() || superinterfaces.stream().anyMatch(s -> !signatureOf(s).equals(descriptorOf(s)));
+        return generic ? signature.toString() : null;
+    }
+
+    public int loadOpcodeOf(TypeMirror type) {
+        return org.objectweb.asm.Type.getType(descriptorOf(type)).getOpcode(Opcodes.ILOAD);
+    }
+
+    public int returnOpcodeOf(TypeMirror type) {
+        return org.objectweb.asm.Type.getType(descriptorOf(type)).getOpcode(Opcodes.IRETURN);
+    }
+
+    /**
+     * @return whether the given type and the types it is composed of are resolved
+     */
+    public boolean isResolved(TypeMirror type) {
+        switch (type.getKind()) {
+            case ERROR:
+                return false;
+            case ARRAY:
+                return isResolved(((ArrayType) type).getComponentType());
+            case DECLARED:
+                return ((DeclaredType) type).getTypeArguments().stream().allMatch(this::isResolved);
+            case TYPEVAR:
+                return types.erasure(type).getKind() != TypeKind.ERROR;
+            case WILDCARD:
+                final WildcardType wildcard = (WildcardType) type;
+                return (wildcard.getExtendsBound() == null || isResolved(wildcard.getExtendsBound()))
+                        && (wildcard.getSuperBound() == null || isResolved(wildcard.getSuperBound()));
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @return whether a value of type {@code type} may be passed where {@code target} is expected without any
+     * conversion, as far as the verifier is concerned
+     */
+    public boolean isErasedSubtype(TypeMirror type, TypeMirror target) {
+        final TypeMirror erasedType = types.erasure(type);
+        final TypeMirror erasedTarget = types.erasure(target);
+
+        if (erasedType.getKind().isPrimitive() || erasedTarget.getKind().isPrimitive())
+            return types.isSameType(erasedType, erasedTarget);
+        return types.isSubtype(erasedType, erasedTarget);
+    }
+
+    /**
+     * @return whether code in the package of the given mix may access the given member through the mix
+     */
+    public boolean isAccessibleThrough(Element member, TypeElement mix) {
+        final Set<Modifier> modifiers = member.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC)
+                || !modifiers.contains(Modifier.PRIVATE) && elements.getPackageOf(member).equals(elements.getPackageOf(mix));
+    }
+
+    private boolean isInterface(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind().isInterface();
+    }
+
+    private String classTypeSignatureOf(DeclaredType type) {
+        final TypeElement element = (TypeElement) type.asElement();
+        final TypeMirror enclosing = type.getEnclosingType();
+
+        final StringBuilder signature = new StringBuilder();
+        if (enclosing.getKind() == TypeKind.DECLARED && !((DeclaredType) enclosing).getTypeArguments().isEmpty())
+            signature.append(classTypeSignatureOf((DeclaredType) enclosing)).append('.').append(element.getSimpleName());
+        else
+            signature.append('L').append(internalNameOf(element));
+
+        if (!type.getTypeArguments().isEmpty()) {
+            signature.append('<');
+            type.getTypeArguments().forEach(a -> signature.append(signatureOf(a)));
+            signature.append('>');
+        }
+
+        return signature.toString();
+    }
+}
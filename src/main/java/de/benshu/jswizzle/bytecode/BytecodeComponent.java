@@ -0,0 +1,20 @@
+package de.benshu.jswizzle.bytecode;
+
+import de.benshu.jswizzle.model.MixinComponent;
+import org.objectweb.asm.ClassVisitor;
+
+/**
+ * A component which can write its members straight into the class file of the mixin, for
+ * {@code -Ajswizzle.output=bytecode}. A mixin is emitted as a class file only if all of its components can.
+ * <p>
+ * Both methods are invoked on the processor thread.
+ */
+public interface BytecodeComponent extends MixinComponent {
+    /**
+     * @return whether {@link #writeMembers(ClassVisitor, Bytecode)} produces the same members as the source form, which
+     * is not the case e.g. if the source would not compile
+     */
+    boolean canWriteMembers(Bytecode bytecode);
+
+    void writeMembers(ClassVisitor classVisitor, Bytecode bytecode);
+}
@@ -0,0 +1,49 @@
+package de.benshu.jswizzle.copyable;
+
+import de.benshu.jswizzle.model.ImportTable;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Compiled forms of {@code copy-method.java.template} and {@code abstract-copy-method.java.template}.
+ */
+final class CopyMethodEmitter {
+    private CopyMethodEmitter() {}
+
+    static void emit(Appendable out, ImportTable imports, String mixType, CopyableComputer.Property property, Optional<String> shortCircuit,
+                     String copyInvocationStart, Iterable<CopyableComputer.Property> arguments) throws IOException {
+        final String pascalCased = property.getName().getPascalCased();
+        final String parameterName = "new" + pascalCased;
+
+        out.append("\n    default ").append(mixType).append(" with").append(pascalCased)
+                .append('(').append(imports.nameOf(property.getType())).append(' ').append(parameterName).append(") {\n");
+        if (shortCircuit.isPresent()) {
+            out.append("        if (").append(shortCircuit.get()).append(")\n");
+            out.append("            return (").append(mixType).append(") this;\n");
+        }
+        out.append("        return ").append(copyInvocationStart).append("(\n");
+
+        boolean first = true;
+        for (CopyableComputer.Property argument : arguments) {
+            if (!first)
+                out.append(",\n");
+            first = false;
+
+            if (argument == property)
+                out.append("                ").append(parameterName);
+            else
+                out.append("                ((").append(mixType).append(") this).").append(argument.getAccessor());
+        }
+
+        out.append("\n        );\n");
+        out.append("    }\n");
+    }
+
+    static void emitAbstract(Appendable out, ImportTable imports, String mixType, CopyableComputer.Property property) throws IOException {
+        final String pascalCased = property.getName().getPascalCased();
+
+        out.append("\n    ").append(mixType).append(" with").append(pascalCased)
+                .append('(').append(imports.nameOf(property.getType())).append(" new").append(pascalCased).append(");\n");
+    }
+}
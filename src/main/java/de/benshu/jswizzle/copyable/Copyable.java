@@ -11,6 +11,44 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 @Swizzle(computer = CopyableComputer.class)
 public @interface Copyable {
+    /**
+     * Whether to generate {@code with(Consumer<Updater>)}, which applies any number of changes through a nested
+     * {@code Updater} and copies the mix only once, and a {@code mapX} method per property. Requires a copy constructor
+     * or factory.
+     */
+    boolean updater() default false;
+
+    /**
+     * When {@code withX} is to return the mix itself rather than a copy, because the new value is the same as the
+     * current one. Can be overridden per property with {@link ShortCircuitBy}.
+     */
+    ShortCircuit shortCircuit() default ShortCircuit.NONE;
+
+    enum ShortCircuit {
+        /**
+         * Always copy.
+         */
+        NONE,
+
+        /**
+         * Don't copy if the new value is identical to the current one. Primitive values are compared with {@code ==},
+         * except for {@code float} and {@code double}, which are compared by their bits, i.e. {@code NaN} is the same
+         * as {@code NaN} but {@code 0.0} isn't the same as {@code -0.0}.
+         */
+        IDENTITY,
+
+        /**
+         * Like {@link #IDENTITY}, but references are compared with {@link java.util.Objects#equals(Object, Object)}.
+         */
+        EQUALITY
+    }
+
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({ElementType.FIELD, ElementType.METHOD})
+    public @interface ShortCircuitBy {
+        ShortCircuit value();
+    }
+
     @Retention(RetentionPolicy.SOURCE)
     @Target({ElementType.FIELD, ElementType.METHOD})
     public @interface Exclude {}
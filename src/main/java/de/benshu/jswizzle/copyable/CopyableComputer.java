@@ -1,19 +1,20 @@
 package de.benshu.jswizzle.copyable;
 
-import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import de.benshu.jswizzle.MixinComputer;
+import de.benshu.jswizzle.bytecode.Bytecode;
+import de.benshu.jswizzle.bytecode.BytecodeComponent;
+import de.benshu.jswizzle.internal.Statistics;
 import de.benshu.jswizzle.internal.Template;
 import de.benshu.jswizzle.model.AnnotatedReflection;
-import de.benshu.jswizzle.model.AsJavaSourceOptions;
 import de.benshu.jswizzle.model.ConstructorDeclaration;
-import de.benshu.jswizzle.model.ExecutableElementReflection;
 import de.benshu.jswizzle.model.FieldDeclaration;
+import de.benshu.jswizzle.model.FullyQualifiedName;
 import de.benshu.jswizzle.model.Identifier;
-import de.benshu.jswizzle.model.Import;
+import de.benshu.jswizzle.model.ImportTable;
 import de.benshu.jswizzle.model.MemberDeclaration;
 import de.benshu.jswizzle.model.MethodDeclaration;
 import de.benshu.jswizzle.model.MixinComponent;
@@ -22,98 +23,401 @@ import de.benshu.jswizzle.model.Reflection;
 import de.benshu.jswizzle.model.Type;
 import de.benshu.jswizzle.model.TypeDeclaration;
 import org.kohsuke.MetaInfServices;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 import static com.google.common.collect.Maps.immutableEntry;
 import static de.benshu.commons.core.streams.Collectors.list;
 import static de.benshu.commons.core.streams.Collectors.map;
-import static de.benshu.commons.core.streams.Collectors.set;
 import static de.benshu.commons.core.streams.Collectors.setMultimap;
 import static java.util.stream.Collectors.joining;
 
 @MetaInfServices(CopyableComputer.class)
 public class CopyableComputer extends MixinComputer {
+    private static final FullyQualifiedName CONSUMER = FullyQualifiedName.of(Consumer.class.getName());
+    private static final String UPDATER = "Updater";
+    private static final FullyQualifiedName OBJECTS = FullyQualifiedName.of(Objects.class.getName());
+    private static final FullyQualifiedName FLOAT = FullyQualifiedName.of(Float.class.getName());
+    private static final FullyQualifiedName DOUBLE = FullyQualifiedName.of(Double.class.getName());
+
+    /**
+     * Property models of the supertypes reflected in the current round, which are shared by the mixes extending them.
+     */
+    private final Map<TypeDeclaration, ImmutableList<Property>> inheritedProperties = new HashMap<>();
+
     @Override
     public MixinComponent computeFor(Reflection reflection, Element e) {
-        final TypeDeclaration mix = reflection.of((TypeElement) e);
+        return computeFor(reflection, (TypeElement) e);
+    }
+
+    @Override
+    public void roundFinished() {
+        inheritedProperties.clear();
+    }
+
+    private MixinComponent computeFor(Reflection reflection, TypeElement e) {
+        final TypeDeclaration mix = reflection.of(e);
         final Type mixType = mix.asType();
 
         final Optional<ParameterizedExecutableElementReflection> constructorOrFactory = findConstructorOrFactory(mix);
         final ImmutableList<Property> properties = determineProperties(mix, constructorOrFactory);
+        final Optional<ImmutableList<Mapping>> mappings = updaterRequested(e)
+                ? Optional.of(properties.stream().map(p -> mappingOf(reflection, p)).collect(list()))
+                : Optional.empty();
+        final Copyable.ShortCircuit defaultShortCircuit = shortCircuitOf(e);
+        final ImmutableMap<Property, Comparison> comparisons = properties.stream()
+                .map(p -> immutableEntry(p, Comparison.of(p, defaultShortCircuit)))
+                .collect(map());
+
+        if (mappings.isPresent() && !constructorOrFactory.isPresent())
+            reflection.getProcessingEnvironment().getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "An updater requires a copy constructor or factory.", e);
+
+        final FullyQualifiedName qualifiedName = mix.getQualifiedName();
+        final Optional<String> factoryName = constructorOrFactory
+                .filter(c -> c.getKind() == ElementKind.METHOD)
+                .map(c -> ((MethodDeclaration) c).getName());
+        final String updaterType = UPDATER + (mix.getTypeParameters().isEmpty() ? ""
+                : mix.getTypeParameters().stream().map(p -> p.getName().getScreamingSnakeCased()).collect(joining(", ", "<", ">")));
 
-        final String simpleMixType = mixType.asJavaSource(AsJavaSourceOptions.SIMPLE_NAMES);
+        final Template.Engine engine = Template.Engine.selectedIn(reflection.getProcessingEnvironment());
+        final Statistics statistics = reflection.getStatistics();
+
+        return new BytecodeComponent() {
+            /**
+             * Source snippets which depend on the element model, rendered along with the names on the processor thread.
+             */
+            private String copyInvocationStart;
+            private String typeParameters;
 
-        return new MixinComponent() {
             @Override
             public TypeDeclaration getMix() {
                 return mix;
             }
 
             @Override
-            public ImmutableSet<Import> getRequiredImports() {
-                final Stream<Import> mixImport = Stream.of(Import.of(mix.getQualifiedName()));
+            public void allocateNames(ImportTable imports) {
+                final String mixTypeName = imports.nameOf(mixType);
+                properties.forEach(p -> imports.nameOf(p.getType()));
+                if (constructorOrFactory.isPresent()) {
+                    comparisons.values().forEach(c -> c.allocateNames(imports));
+                    copyInvocationStart = factoryName.isPresent()
+                            ? imports.nameOf(qualifiedName) + "." + factoryName.get()
+                            : "new " + mixTypeName;
+                }
 
-                final Stream<Import> propertyImports = properties.stream()
-                        .flatMap(p -> p.getType().referencedTypes())
-                        .map(Import::of);
+                if (hasUpdater()) {
+                    imports.nameOf(CONSUMER);
+                    typeParameters = mix.getTypeParameters().asJavaSource(imports);
+                    mappings.get().forEach(m -> imports.nameOf(m.getOperatorType()));
+                }
+            }
 
-                return Stream.concat(mixImport, propertyImports).collect(set());
+            @Override
+            public ImmutableSet<String> getMemberTypeNames() {
+                return hasUpdater() ? ImmutableSet.of(UPDATER) : ImmutableSet.of();
             }
 
             @Override
-            public String getBody() {
-                return properties.stream()
-                        .map(this::toCopyMethod)
-                        .collect(Collectors.joining());
+            public void writeBody(Appendable out, ImportTable imports) throws IOException {
+                final String mixTypeName = imports.nameOf(mixType);
+
+                for (Property property : properties)
+                    writeCopyMethod(property, imports, mixTypeName, out);
+
+                if (hasUpdater())
+                    writeUpdater(imports, mixTypeName, out);
+            }
+
+            private boolean hasUpdater() {
+                return mappings.isPresent() && constructorOrFactory.isPresent();
+            }
+
+            private void writeUpdater(ImportTable imports, String mixTypeName, Appendable out) throws IOException {
+                final long start = statistics.startTimer();
+
+                final String consumerType = imports.nameOf(CONSUMER);
+
+                if (engine == Template.Engine.FREEMARKER)
+                    Template.render("updater.java.template", ImmutableMap.<String, Object>builder()
+                            .put("imports", imports)
+                            .put("mixType", mixTypeName)
+                            .put("copyInvocationStart", copyInvocationStart)
+                            .put("consumerType", consumerType)
+                            .put("typeParameters", typeParameters)
+                            .put("updaterType", updaterType)
+                            .put("mappings", mappings.get())
+                            .build(), out);
+                else
+                    UpdaterEmitter.emit(out, imports, mixTypeName, copyInvocationStart, consumerType, typeParameters, updaterType, mappings.get());
+
+                statistics.templateRendered("updater.java.template", start);
+            }
+
+            private void writeCopyMethod(Property property, ImportTable imports, String mixTypeName, Appendable out) throws IOException {
+                final long start = statistics.startTimer();
+
+                if (engine == Template.Engine.FREEMARKER)
+                    out.append(renderCopyMethod(property, imports, mixTypeName));
+                else if (constructorOrFactory.isPresent())
+                    CopyMethodEmitter.emit(out, imports, mixTypeName, property, shortCircuitConditionFor(property, imports, mixTypeName),
+                            copyInvocationStart, properties);
+                else
+                    CopyMethodEmitter.emitAbstract(out, imports, mixTypeName, property);
+
+                statistics.templateRendered(constructorOrFactory.isPresent() ? "copy-method.java.template" : "abstract-copy-method.java.template", start);
             }
 
-            private String toCopyMethod(Property property) {
+            private String renderCopyMethod(Property property, ImportTable imports, String mixTypeName) {
                 if (constructorOrFactory.isPresent())
                     return Template.render("copy-method.java.template", ImmutableMap.of(
-                            "simpleMixType", simpleMixType,
+                            "imports", imports,
+                            "mixType", mixTypeName,
                             "property", property,
+                            "shortCircuit", shortCircuitConditionFor(property, imports, mixTypeName).orElse(""),
                             // TODO Figure out how to move this to the template.
-                            "copyInvocation", copyInvocationFor(constructorOrFactory.get(), property)
+                            "copyInvocation", copyInvocationStart + copyInvocationArgumentList(property, mixTypeName)
                     ));
                 else
                     return Template.render("abstract-copy-method.java.template", ImmutableMap.of(
-                            "simpleMixType", simpleMixType,
+                            "imports", imports,
+                            "mixType", mixTypeName,
                             "property", property
                     ));
             }
 
-            private String copyInvocationFor(ExecutableElementReflection constructorOrFactory, Property property) {
-                return copyInvocationStartFor(constructorOrFactory) + copyInvocationArgumentList(property);
+            private Optional<String> shortCircuitConditionFor(Property property, ImportTable imports, String mixTypeName) {
+                final String current = "((" + mixTypeName + ") this)." + property.getAccessor();
+                return comparisons.get(property).conditionFor(current, "new" + property.getName().getPascalCased(), imports);
+            }
+
+            private String copyInvocationArgumentList(Property property, String mixTypeName) {
+                return "(\n" + properties.stream().map(p -> p == property ? "                %CHANGED%" : determineGetOf(p, mixTypeName)).collect(joining(",\n")) + "\n        )";
+            }
+
+            private String determineGetOf(Property property, String mixTypeName) {
+                return "                ((" + mixTypeName + ") this)." + property.getAccessor();
             }
 
-            private String copyInvocationStartFor(ExecutableElementReflection constructorOrFactory) {
-                switch (constructorOrFactory.getKind()) {
-                    case METHOD:
-                        MethodDeclaration methodDeclaration = (MethodDeclaration) constructorOrFactory;
-                        return simpleMixType.split("<")[0] + "." + methodDeclaration.getName();
-                    case CONSTRUCTOR:
-                        return "new " + simpleMixType;
+            @Override
+            public boolean canWriteMembers(Bytecode bytecode) {
+                // The updater is a class of its own, which is left to javac.
+                if (hasUpdater())
+                    return false;
+                if (!properties.stream().allMatch(p -> bytecode.isResolved(p.getType().getMirror())))
+                    return false;
+                if (!constructorOrFactory.isPresent())
+                    return true;
+
+                final ExecutableElement invoked = constructorOrFactory.get().getMirror();
+                final boolean invocable = invoked.getKind() == ElementKind.CONSTRUCTOR
+                        ? !mix.isAbstract()
+                        : bytecode.isErasedSubtype(invoked.getReturnType(), mixType.getMirror());
+                if (!invocable || !bytecode.isAccessibleThrough(invoked, e))
+                    return false;
+
+                for (int i = 0; i < properties.size(); ++i) {
+                    final Property property = properties.get(i);
+                    final TypeMirror parameterType = invoked.getParameters().get(i).asType();
+
+                    final boolean readable = property.getMember()
+                            .filter(m -> !m.getModifiers().contains(Modifier.STATIC) && bytecode.isAccessibleThrough(m, e))
+                            .isPresent();
+                    if (!readable || !bytecode.isResolved(parameterType) || !bytecode.isErasedSubtype(property.getType().getMirror(), parameterType))
+                        return false;
+                }
+                return true;
+            }
+
+            @Override
+            public void writeMembers(ClassVisitor classVisitor, Bytecode bytecode) {
+                for (Property property : properties) {
+                    final ImmutableList<TypeMirror> parameterTypes = ImmutableList.of(property.getType().getMirror());
+                    final String name = "with" + property.getName().getPascalCased();
+                    final String descriptor = bytecode.methodDescriptorOf(parameterTypes, mixType.getMirror());
+                    final String signature = bytecode.methodSignatureOf(parameterTypes, mixType.getMirror());
+
+                    if (constructorOrFactory.isPresent()) {
+                        final MethodVisitor method = classVisitor.visitMethod(Opcodes.ACC_PUBLIC, name, descriptor, signature, null);
+                        method.visitCode();
+                        if (comparisons.get(property) != Comparison.NONE)
+                            writeShortCircuit(property, method, bytecode);
+                        writeCopyInvocation(property, constructorOrFactory.get().getMirror(), method, bytecode);
+                        method.visitInsn(Opcodes.ARETURN);
+                        method.visitMaxs(0, 0);
+                        method.visitEnd();
+                    } else {
+                        classVisitor.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, name, descriptor, signature, null).visitEnd();
+                    }
+                }
+            }
+
+            private void writeShortCircuit(Property property, MethodVisitor method, Bytecode bytecode) {
+                final Label copy = new Label();
+
+                writeGet(property, method, bytecode);
+                writeConversion(property, method);
+                method.visitVarInsn(bytecode.loadOpcodeOf(property.getType().getMirror()), 1);
+                writeConversion(property, method);
+
+                switch (comparisons.get(property)) {
+                    case IDENTITY:
+                        switch (property.getType().getMirror().getKind()) {
+                            case LONG:
+                                method.visitInsn(Opcodes.LCMP);
+                                method.visitJumpInsn(Opcodes.IFNE, copy);
+                                break;
+                            case BOOLEAN:
+                            case BYTE:
+                            case SHORT:
+                            case CHAR:
+                            case INT:
+                                method.visitJumpInsn(Opcodes.IF_ICMPNE, copy);
+                                break;
+                            default:
+                                method.visitJumpInsn(Opcodes.IF_ACMPNE, copy);
+                        }
+                        break;
+                    case FLOAT_BITS:
+                        method.visitJumpInsn(Opcodes.IF_ICMPNE, copy);
+                        break;
+                    case DOUBLE_BITS:
+                        method.visitInsn(Opcodes.LCMP);
+                        method.visitJumpInsn(Opcodes.IFNE, copy);
+                        break;
+                    case EQUALITY:
+                        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Objects", "equals", "(Ljava/lang/Object;Ljava/lang/Object;)Z", false);
+                        method.visitJumpInsn(Opcodes.IFEQ, copy);
+                        break;
                     default:
                         throw new AssertionError();
                 }
+
+                method.visitVarInsn(Opcodes.ALOAD, 0);
+                method.visitTypeInsn(Opcodes.CHECKCAST, bytecode.internalNameOf(e));
+                method.visitInsn(Opcodes.ARETURN);
+                method.visitLabel(copy);
+                method.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+            }
+
+            private void writeConversion(Property property, MethodVisitor method) {
+                switch (comparisons.get(property)) {
+                    case FLOAT_BITS:
+                        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Float", "floatToIntBits", "(F)I", false);
+                        break;
+                    case DOUBLE_BITS:
+                        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J", false);
+                        break;
+                }
             }
 
-            private String copyInvocationArgumentList(Property property) {
-                return "(\n" + properties.stream().map(p -> p == property ? "                %CHANGED%" : determineGetOf(p)).collect(joining(",\n")) + "\n        )";
+            private TypeMirror writeGet(Property property, MethodVisitor method, Bytecode bytecode) {
+                final String mixTypeName = bytecode.internalNameOf(e);
+                final boolean mixIsInterface = e.getKind().isInterface();
+                final Element member = property.getMember().get();
+                final TypeMirror memberType = member.getKind() == ElementKind.METHOD ? ((ExecutableElement) member).getReturnType() : member.asType();
+
+                method.visitVarInsn(Opcodes.ALOAD, 0);
+                method.visitTypeInsn(Opcodes.CHECKCAST, mixTypeName);
+                if (member.getKind() == ElementKind.METHOD)
+                    method.visitMethodInsn(mixIsInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, mixTypeName,
+                            member.getSimpleName().toString(), "()" + bytecode.descriptorOf(memberType), mixIsInterface);
+                else
+                    method.visitFieldInsn(Opcodes.GETFIELD, mixTypeName, member.getSimpleName().toString(), bytecode.descriptorOf(memberType));
+
+                return memberType;
             }
 
-            private String determineGetOf(Property property) {
-                return "                ((" + simpleMixType + ") this)." + property.getAccessor();
+            private void writeCopyInvocation(Property changed, ExecutableElement invoked, MethodVisitor method, Bytecode bytecode) {
+                final String mixTypeName = bytecode.internalNameOf(e);
+                final boolean mixIsInterface = e.getKind().isInterface();
+                final ImmutableList<TypeMirror> parameterTypes = invoked.getParameters().stream().map(Element::asType).collect(list());
+
+                if (invoked.getKind() == ElementKind.CONSTRUCTOR) {
+                    method.visitTypeInsn(Opcodes.NEW, mixTypeName);
+                    method.visitInsn(Opcodes.DUP);
+                }
+
+                for (int i = 0; i < properties.size(); ++i) {
+                    final Property property = properties.get(i);
+
+                    if (property == changed) {
+                        method.visitVarInsn(bytecode.loadOpcodeOf(property.getType().getMirror()), 1);
+                        continue;
+                    }
+
+                    final TypeMirror memberType = writeGet(property, method, bytecode);
+
+                    // Members inherited from generic supertypes are erased to their bounds there.
+                    if (!bytecode.isErasedSubtype(memberType, parameterTypes.get(i)))
+                        method.visitTypeInsn(Opcodes.CHECKCAST, bytecode.internalNameOf(parameterTypes.get(i)));
+                }
+
+                if (invoked.getKind() == ElementKind.CONSTRUCTOR)
+                    method.visitMethodInsn(Opcodes.INVOKESPECIAL, mixTypeName, "<init>", bytecode.methodDescriptorOf(parameterTypes, invoked.getReturnType()), false);
+                else
+                    method.visitMethodInsn(Opcodes.INVOKESTATIC, mixTypeName, invoked.getSimpleName().toString(), bytecode.methodDescriptorOf(parameterTypes, invoked.getReturnType()), mixIsInterface);
             }
         };
     }
 
-    private Optional<ParameterizedExecutableElementReflection> findConstructorOrFactory(TypeDeclaration mix) {
+    private static boolean updaterRequested(TypeElement mix) {
+        final Copyable copyable = mix.getAnnotation(Copyable.class);
+        return copyable != null && copyable.updater();
+    }
+
+    private static Copyable.ShortCircuit shortCircuitOf(TypeElement mix) {
+        final Copyable copyable = mix.getAnnotation(Copyable.class);
+        return copyable == null ? Copyable.ShortCircuit.NONE : copyable.shortCircuit();
+    }
+
+    private static Mapping mappingOf(Reflection reflection, Property property) {
+        final Elements elements = reflection.getProcessingEnvironment().getElementUtils();
+        final Types types = reflection.getProcessingEnvironment().getTypeUtils();
+        final TypeMirror type = property.getType().getMirror();
+
+        switch (type.getKind()) {
+            case INT:
+                return new Mapping(property, reflection.of(elements.getTypeElement(IntUnaryOperator.class.getName()).asType()), "applyAsInt");
+            case LONG:
+                return new Mapping(property, reflection.of(elements.getTypeElement(LongUnaryOperator.class.getName()).asType()), "applyAsLong");
+            case DOUBLE:
+                return new Mapping(property, reflection.of(elements.getTypeElement(DoubleUnaryOperator.class.getName()).asType()), "applyAsDouble");
+            default:
+                final TypeMirror operand = type.getKind().isPrimitive() ? types.boxedClass((PrimitiveType) type).asType() : type;
+                return new Mapping(property, reflection.of(types.getDeclaredType(elements.getTypeElement(UnaryOperator.class.getName()), operand)), "apply");
+        }
+    }
+
+    /**
+     * @return the constructor or factory copies of the given mix are created through: the one annotated with
+     * {@link CopyConstructor} or {@link CopyFactory}, or else the non-private constructor with the most parameters
+     */
+    public static Optional<ParameterizedExecutableElementReflection> findConstructorOrFactory(TypeDeclaration mix) {
         final Stream<ParameterizedExecutableElementReflection> annotated = Stream.concat(
                 mix.constructors().filter(c -> c.isAnnotatedWith(CopyConstructor.class)),
                 mix.staticMethods().filter(m -> m.isAnnotatedWith(CopyFactory.class))
@@ -129,8 +433,7 @@ public class CopyableComputer extends MixinComputer {
     }
 
     private ImmutableList<Property> determineProperties(TypeDeclaration mix, Optional<ParameterizedExecutableElementReflection> constructorOrFactory) {
-        final ImmutableSetMultimap<Identifier, Property> nonExcludedProperties = mix.allMemberDeclarations()
-                .flatMap(this::toPotentialProperty)
+        final ImmutableSetMultimap<Identifier, Property> nonExcludedProperties = potentialPropertiesOf(mix)
                 .map(p -> immutableEntry(p.getName(), p))
                 .collect(setMultimap())
                 .asMap().entrySet().stream()
@@ -154,14 +457,41 @@ public class CopyableComputer extends MixinComputer {
                         final Identifier id = Identifier.from(p.getName());
                         final Type type = p.getType();
 
-                        return properties.getOrDefault(id, new Property(p, id, type, "NO_SUCH_PROPERTY_" + id.getScreamingSnakeCased()));
+                        return properties.getOrDefault(id, Property.missing(p, id, type));
                     })
                     .collect(list());
         else
             return ImmutableList.copyOf(properties.values());
     }
 
-    private Stream<Property> toPotentialProperty(MemberDeclaration memberDeclaration) {
+    private Stream<Property> potentialPropertiesOf(TypeDeclaration mix) {
+        return Stream.concat(
+                mix.declaredMemberDeclarations().flatMap(CopyableComputer::toPotentialProperty),
+                mix.supertypes().flatMap(s -> inheritedPropertiesOf(s).stream())
+        );
+    }
+
+    /**
+     * @return the non-private fields and getters of the given mix and its supertypes, the mix's own first, so that
+     * other computers agree with the copy methods on what a property is
+     */
+    public static Stream<Property> discoverProperties(TypeDeclaration mix) {
+        return Stream.concat(
+                mix.declaredMemberDeclarations().flatMap(CopyableComputer::toPotentialProperty),
+                mix.supertypes().flatMap(CopyableComputer::discoverProperties)
+        );
+    }
+
+    private ImmutableList<Property> inheritedPropertiesOf(TypeDeclaration supertype) {
+        ImmutableList<Property> properties = inheritedProperties.get(supertype);
+        if (properties == null) {
+            properties = potentialPropertiesOf(supertype).collect(list());
+            inheritedProperties.put(supertype, properties);
+        }
+        return properties;
+    }
+
+    private static Stream<Property> toPotentialProperty(MemberDeclaration memberDeclaration) {
         if (memberDeclaration.isPrivate())
             return Stream.empty();
 
@@ -176,7 +506,7 @@ public class CopyableComputer extends MixinComputer {
 
     }
 
-    private Property toProperty(FieldDeclaration field) {
+    private static Property toProperty(FieldDeclaration field) {
         final String name = field.getName();
         final Identifier id = Identifier.from(name);
         final Type type = field.getType();
@@ -184,48 +514,151 @@ public class CopyableComputer extends MixinComputer {
         return new Property(field, id, type, name);
     }
 
-    private Stream<Property> toPotentialProperty(MethodDeclaration method) {
-        if (!method.getTypeParameters().isEmpty() || !method.getParameters().isEmpty() || !method.getName().matches("^(get|is)[A-Z].*"))
+    private static Stream<Property> toPotentialProperty(MethodDeclaration method) {
+        if (!method.isGetter())
             return Stream.empty();
 
-        final String name = method.getName();
-        final Identifier id = Identifier.from(name.substring(name.startsWith("get") ? 3 : 2), CaseFormat.UPPER_CAMEL);
-        final Type type = method.getReturnType();
+        return Stream.of(new Property(method, method.getPropertyName(), method.getReturnType(), method.getName() + "()"));
+    }
+
+    /**
+     * How {@code mapX} maps a property: {@code int}, {@code long} and {@code double} properties through the primitive
+     * specializations of {@link UnaryOperator}, all others through {@link UnaryOperator} itself.
+     */
+    public static class Mapping {
+        private final Property property;
+        private final Type operatorType;
+        private final String operatorMethod;
+
+        public Mapping(Property property, Type operatorType, String operatorMethod) {
+            this.property = property;
+            this.operatorType = operatorType;
+            this.operatorMethod = operatorMethod;
+        }
+
+        public Property getProperty() {
+            return property;
+        }
+
+        public Type getOperatorType() {
+            return operatorType;
+        }
 
-        return Stream.of(new Property(method, id, type, name + "()"));
+        public String getOperatorMethod() {
+            return operatorMethod;
+        }
+    }
+
+    /**
+     * How {@code withX} tells whether the new value is the same as the current one, as determined by the property's
+     * type and {@link Copyable.ShortCircuit}.
+     */
+    enum Comparison {
+        NONE,
+        IDENTITY,
+        FLOAT_BITS,
+        DOUBLE_BITS,
+        EQUALITY;
+
+        static Comparison of(Property property, Copyable.ShortCircuit defaultShortCircuit) {
+            final Copyable.ShortCircuit shortCircuit = property.getShortCircuit().orElse(defaultShortCircuit);
+            if (shortCircuit == Copyable.ShortCircuit.NONE || !property.getMember().isPresent())
+                return NONE;
+
+            switch (property.getType().getMirror().getKind()) {
+                case FLOAT:
+                    return FLOAT_BITS;
+                case DOUBLE:
+                    return DOUBLE_BITS;
+                case BOOLEAN:
+                case BYTE:
+                case SHORT:
+                case CHAR:
+                case INT:
+                case LONG:
+                    return IDENTITY;
+                default:
+                    return shortCircuit == Copyable.ShortCircuit.EQUALITY ? EQUALITY : IDENTITY;
+            }
+        }
+
+        void allocateNames(ImportTable imports) {
+            switch (this) {
+                case FLOAT_BITS:
+                    imports.nameOf(FLOAT);
+                    break;
+                case DOUBLE_BITS:
+                    imports.nameOf(DOUBLE);
+                    break;
+                case EQUALITY:
+                    imports.nameOf(OBJECTS);
+                    break;
+            }
+        }
+
+        Optional<String> conditionFor(String current, String changed, ImportTable imports) {
+            switch (this) {
+                case NONE:
+                    return Optional.empty();
+                case IDENTITY:
+                    return Optional.of(current + " == " + changed);
+                case FLOAT_BITS:
+                    final String floatType = imports.nameOf(FLOAT);
+                    return Optional.of(floatType + ".floatToIntBits(" + current + ") == " + floatType + ".floatToIntBits(" + changed + ")");
+                case DOUBLE_BITS:
+                    final String doubleType = imports.nameOf(DOUBLE);
+                    return Optional.of(doubleType + ".doubleToLongBits(" + current + ") == " + doubleType + ".doubleToLongBits(" + changed + ")");
+                case EQUALITY:
+                    return Optional.of(imports.nameOf(OBJECTS) + ".equals(" + current + ", " + changed + ")");
+                default:
+                    throw new AssertionError();
+            }
+        }
     }
 
     public static class Property {
-        private final AnnotatedReflection reflection;
+        private final Optional<Element> member;
         private final Identifier name;
         private final Type type;
-        private final String simpleTypeName;
         private final String accessor;
+        private final boolean excluded;
+        private final boolean included;
+        private final Optional<Copyable.ShortCircuit> shortCircuit;
 
         public Property(AnnotatedReflection reflection, Identifier name, Type type, String accessor) {
-            this.reflection = reflection;
+            this(Optional.of(reflection.getMirror()), reflection, name, type, accessor);
+        }
+
+        private Property(Optional<Element> member, AnnotatedReflection reflection, Identifier name, Type type, String accessor) {
+            this.member = member;
             this.name = name;
             this.type = type;
-            this.simpleTypeName = type.asJavaSource(AsJavaSourceOptions.SIMPLE_NAMES);
             this.accessor = accessor;
+            this.excluded = reflection.isAnnotatedWith(Copyable.Exclude.class);
+            this.included = reflection.isAnnotatedWith(Copyable.Include.class);
+            this.shortCircuit = member.map(m -> m.getAnnotation(Copyable.ShortCircuitBy.class)).map(Copyable.ShortCircuitBy::value);
+        }
+
+        /**
+         * A property for a copy constructor or factory parameter which does not correspond to any member. Its accessor
+         * is an undefined identifier, so that the generated source fails to compile with a telling message.
+         */
+        static Property missing(AnnotatedReflection parameter, Identifier name, Type type) {
+            return new Property(Optional.empty(), parameter, name, type, "NO_SUCH_PROPERTY_" + name.getScreamingSnakeCased());
         }
 
         public boolean isExcluded() {
-            return reflection.isAnnotatedWith(Copyable.Exclude.class);
+            return excluded;
         }
 
         public boolean isIncluded() {
-            return reflection.isAnnotatedWith(Copyable.Include.class);
+            return included;
         }
 
         public Identifier getName() {
             return name;
         }
 
-        public String getSimpleTypeName() {
-            return simpleTypeName;
-        }
-
         public Type getType() {
             return type;
         }
@@ -233,5 +666,19 @@ public class CopyableComputer extends MixinComputer {
         public String getAccessor() {
             return accessor;
         }
+
+        /**
+         * @return the short circuit the property's member is annotated with, overriding the mix's
+         */
+        Optional<Copyable.ShortCircuit> getShortCircuit() {
+            return shortCircuit;
+        }
+
+        /**
+         * @return the field or getter the property is read from, unless the property is {@link #missing missing}
+         */
+        public Optional<Element> getMember() {
+            return member;
+        }
     }
 }
@@ -0,0 +1,96 @@
+package de.benshu.jswizzle.copyable;
+
+import de.benshu.jswizzle.model.ImportTable;
+
+import java.io.IOException;
+
+/**
+ * Compiled form of {@code updater.java.template}.
+ */
+final class UpdaterEmitter {
+    private UpdaterEmitter() {}
+
+    static void emit(Appendable out, ImportTable imports, String mixType, String copyInvocationStart, String consumerType,
+                     String typeParameters, String updaterType, Iterable<CopyableComputer.Mapping> mappings) throws IOException {
+        out.append("\n    default ").append(mixType).append(" with(").append(consumerType).append("<? super ").append(updaterType).append("> update) {\n");
+        out.append("        final ").append(updaterType).append(" updater = new ").append(updaterType).append("(\n");
+        boolean first = true;
+        for (CopyableComputer.Mapping mapping : mappings) {
+            if (!first)
+                out.append(",\n");
+            first = false;
+
+            out.append("                ((").append(mixType).append(") this).").append(mapping.getProperty().getAccessor());
+        }
+        out.append("\n        );\n");
+        out.append("        update.accept(updater);\n");
+        out.append("        return updater.copy();\n");
+        out.append("    }\n");
+
+        for (CopyableComputer.Mapping mapping : mappings) {
+            final CopyableComputer.Property property = mapping.getProperty();
+            final String pascalCased = property.getName().getPascalCased();
+
+            out.append("\n    default ").append(mixType).append(" map").append(pascalCased)
+                    .append('(').append(imports.nameOf(mapping.getOperatorType())).append(" mapper) {\n");
+            out.append("        return with").append(pascalCased).append("(mapper.").append(mapping.getOperatorMethod())
+                    .append("(((").append(mixType).append(") this).").append(property.getAccessor()).append("));\n");
+            out.append("    }\n");
+        }
+
+        out.append("\n    final class Updater").append(typeParameters).append(" {\n");
+        for (CopyableComputer.Mapping mapping : mappings) {
+            final CopyableComputer.Property property = mapping.getProperty();
+            out.append("        private ").append(imports.nameOf(property.getType())).append(' ').append(property.getName().getCamelCased()).append(";\n");
+        }
+
+        out.append("\n        Updater(");
+        first = true;
+        for (CopyableComputer.Mapping mapping : mappings) {
+            if (!first)
+                out.append(", ");
+            first = false;
+
+            final CopyableComputer.Property property = mapping.getProperty();
+            out.append(imports.nameOf(property.getType())).append(' ').append(property.getName().getCamelCased());
+        }
+        out.append(") {\n");
+        for (CopyableComputer.Mapping mapping : mappings) {
+            final String camelCased = mapping.getProperty().getName().getCamelCased();
+            out.append("            this.").append(camelCased).append(" = ").append(camelCased).append(";\n");
+        }
+        out.append("        }\n");
+
+        for (CopyableComputer.Mapping mapping : mappings) {
+            final CopyableComputer.Property property = mapping.getProperty();
+            final String camelCased = property.getName().getCamelCased();
+
+            out.append("\n        public ").append(updaterType).append(' ').append(camelCased)
+                    .append('(').append(imports.nameOf(property.getType())).append(' ').append(camelCased).append(") {\n");
+            out.append("            this.").append(camelCased).append(" = ").append(camelCased).append(";\n");
+            out.append("            return this;\n");
+            out.append("        }\n");
+
+            out.append("\n        public ").append(updaterType).append(" map").append(property.getName().getPascalCased())
+                    .append('(').append(imports.nameOf(mapping.getOperatorType())).append(" mapper) {\n");
+            out.append("            this.").append(camelCased).append(" = mapper.").append(mapping.getOperatorMethod())
+                    .append("(this.").append(camelCased).append(");\n");
+            out.append("            return this;\n");
+            out.append("        }\n");
+        }
+
+        out.append("\n        ").append(mixType).append(" copy() {\n");
+        out.append("            return ").append(copyInvocationStart).append("(\n");
+        first = true;
+        for (CopyableComputer.Mapping mapping : mappings) {
+            if (!first)
+                out.append(",\n");
+            first = false;
+
+            out.append("                    ").append(mapping.getProperty().getName().getCamelCased());
+        }
+        out.append("\n            );\n");
+        out.append("        }\n");
+        out.append("    }\n");
+    }
+}
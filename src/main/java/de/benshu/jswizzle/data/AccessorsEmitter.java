@@ -0,0 +1,34 @@
+package de.benshu.jswizzle.data;
+
+import de.benshu.jswizzle.model.ImportTable;
+
+import java.io.IOException;
+
+/**
+ * Compiled form of {@code accessors.java.template}.
+ */
+final class AccessorsEmitter {
+    private AccessorsEmitter() {}
+
+    static void emit(Appendable out, ImportTable imports, String mixType, Iterable<DataComputer.Property> properties) throws IOException {
+        out.append('\n');
+
+        for (DataComputer.Property property : properties) {
+            final String pascalCased = property.getName().getPascalCased();
+            final String camelCased = property.getName().getCamelCased();
+            final String type = imports.nameOf(property.getType());
+
+            if (property.isWritable()) {
+                out.append("    default void set").append(pascalCased)
+                        .append('(').append(type).append(" new").append(pascalCased).append(") {\n");
+                out.append("        ((").append(mixType).append(")this).").append(camelCased)
+                        .append(" = new").append(pascalCased).append(";\n");
+                out.append("    }\n");
+            }
+
+            out.append("    default ").append(type).append(" get").append(pascalCased).append("() {\n");
+            out.append("        return ((").append(mixType).append(")this).").append(camelCased).append(";\n");
+            out.append("    }\n\n");
+        }
+    }
+}
@@ -11,6 +11,13 @@ import java.lang.annotation.Target;
 @Target({ElementType.TYPE, ElementType.FIELD})
 @Swizzle(computer = DataComputer.class)
 public @interface Data {
+    /**
+     * Whether to also generate {@code dataEquals(Object)}, {@code dataHashCode()} and {@code appendTo(StringBuilder)}
+     * over the non-static fields. Only applies to the annotated type. The helpers chain to those of the nearest
+     * superclass with a mixin, if it has helpers too; the fields of other superclasses are ignored, with a warning.
+     */
+    boolean helpers() default false;
+
     @Retention(RetentionPolicy.SOURCE)
     @Target({ElementType.FIELD, ElementType.METHOD})
     public @interface Exclude {}
@@ -1,89 +1,456 @@
 package de.benshu.jswizzle.data;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import de.benshu.jswizzle.MixinComputer;
+import de.benshu.jswizzle.bytecode.Bytecode;
+import de.benshu.jswizzle.bytecode.BytecodeComponent;
+import de.benshu.jswizzle.internal.Statistics;
+import de.benshu.jswizzle.internal.SwizzleMixin;
 import de.benshu.jswizzle.internal.Template;
-import de.benshu.jswizzle.model.AsJavaSourceOptions;
+import de.benshu.jswizzle.model.FullyQualifiedName;
 import de.benshu.jswizzle.model.Identifier;
-import de.benshu.jswizzle.model.Import;
+import de.benshu.jswizzle.model.ImportTable;
 import de.benshu.jswizzle.model.MixinComponent;
 import de.benshu.jswizzle.model.Reflection;
 import de.benshu.jswizzle.model.Type;
 import de.benshu.jswizzle.model.TypeDeclaration;
 import org.kohsuke.MetaInfServices;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static com.google.common.collect.Maps.immutableEntry;
+import static de.benshu.commons.core.streams.Collectors.list;
+import static de.benshu.commons.core.streams.Collectors.map;
 import static de.benshu.commons.core.streams.Collectors.set;
+import static java.util.stream.Collectors.joining;
 
 @MetaInfServices(DataComputer.class)
 public class DataComputer extends MixinComputer {
+    private static final FullyQualifiedName STRING_BUILDER = FullyQualifiedName.of(StringBuilder.class.getName());
+    private static final FullyQualifiedName OBJECTS = FullyQualifiedName.of(Objects.class.getName());
+    private static final FullyQualifiedName ARRAYS = FullyQualifiedName.of(Arrays.class.getName());
+
     @Override
     public MixinComponent computeFor(Reflection reflection, Element e) {
-        if (e instanceof TypeElement)
-            return accessorsForAllFields(reflection, (TypeElement) e);
+        return Iterables.getOnlyElement(computeAll(reflection, ImmutableList.of(e)).collect(list()));
+    }
+
+    /**
+     * Computes a single component for all given elements. If the mix itself is annotated, that covers all its fields
+     * and annotated fields need no further consideration.
+     */
+    @Override
+    public Stream<MixinComponent> computeAll(Reflection reflection, Collection<? extends Element> elements) {
+        final Optional<TypeElement> annotatedMix = elements.stream()
+                .filter(e -> e instanceof TypeElement)
+                .map(TypeElement.class::cast)
+                .findFirst();
+
+        if (annotatedMix.isPresent() && helpersRequested(annotatedMix.get()))
+            return Stream.of(accessorsForAllFields(reflection, annotatedMix.get()), helpersFor(reflection, annotatedMix.get()));
+        else if (annotatedMix.isPresent())
+            return Stream.of(accessorsForAllFields(reflection, annotatedMix.get()));
         else
-            return accessorForField(reflection, (VariableElement) e);
+            return Stream.of(accessorsForFields(reflection, elements.stream().map(VariableElement.class::cast).collect(list())));
     }
 
     private MixinComponent accessorsForAllFields(Reflection reflection, TypeElement mix) {
-        final ImmutableSet<Property> properties = mix.getEnclosedElements().stream()
+        return createMixinComponent(reflection, reflection.of(mix), propertiesOf(reflection, mix));
+    }
+
+    private ImmutableSet<Property> propertiesOf(Reflection reflection, TypeElement mix) {
+        return mix.getEnclosedElements().stream()
                 .filter(e -> e.getKind() == ElementKind.FIELD)
                 .filter(e -> e.getAnnotation(Data.Exclude.class) == null)
                 .map(VariableElement.class::cast)
                 .map(v -> new Property(v, reflection.of(v.asType())))
                 .collect(set());
+    }
 
-        return createMixinComponent(reflection.of(mix), properties);
+    private static boolean helpersRequested(TypeElement mix) {
+        final Data data = mix.getAnnotation(Data.class);
+        return data != null && data.helpers();
     }
 
-    private MixinComponent accessorForField(Reflection reflection, VariableElement field) {
-        final TypeElement mix = (TypeElement) field.getEnclosingElement();
-        final Property property = new Property(field, reflection.of(field.asType()));
+    private MixinComponent helpersFor(Reflection reflection, TypeElement e) {
+        final TypeDeclaration mix = reflection.of(e);
+        final ImmutableList<Property> properties = propertiesOf(reflection, e).stream()
+                .filter(p -> !p.getField().getModifiers().contains(Modifier.STATIC))
+                .collect(list());
+        final ImmutableMap<Property, Kind> kinds = properties.stream()
+                .map(p -> immutableEntry(p, Kind.of(reflection, p.getField().asType())))
+                .collect(map());
+        // Cheap comparisons first, so that unequal instances are told apart early.
+        final ImmutableList<Property> comparedProperties = properties.stream()
+                .sorted(Comparator.comparing(p -> kinds.get(p).getCost()))
+                .collect(list());
+        final String mixName = mix.getName();
+        final FullyQualifiedName qualifiedName = mix.getQualifiedName();
+        final String wildcards = mix.getTypeParameters().isEmpty() ? ""
+                : mix.getTypeParameters().stream().map(p -> "?").collect(joining(", ", "<", ">"));
+        final Optional<Type> superHelpers = superHelpersOf(reflection, e, mix);
 
-        return createMixinComponent(reflection.of(mix), ImmutableSet.of(property));
-    }
+        final Template.Engine engine = Template.Engine.selectedIn(reflection.getProcessingEnvironment());
+        final Statistics statistics = reflection.getStatistics();
 
-    private MixinComponent createMixinComponent(final TypeDeclaration mix, final ImmutableSet<Property> properties) {
         return new MixinComponent() {
+            /**
+             * The name the supermixin whose helpers to chain to is referred to by in {@code X.super.m()}, if any.
+             */
+            private String superMixin;
+
             @Override
             public TypeDeclaration getMix() {
                 return mix;
             }
 
             @Override
-            public ImmutableSet<Import> getRequiredImports() {
-                return properties.stream()
-                        .flatMap(p -> p.getType().referencedTypes())
-                        .map(Import::of)
-                        .collect(set());
+            public void allocateNames(ImportTable imports) {
+                imports.nameOf(mix.asType());
+                imports.nameOf(qualifiedName);
+                imports.nameOf(STRING_BUILDER);
+                kinds.values().forEach(k -> k.allocateNames(imports));
+                superMixin = superHelpers.map(imports::nameOf).map(n -> n.contains("<") ? n.substring(0, n.indexOf('<')) : n).orElse("");
+            }
+
+            @Override
+            public void writeBody(Appendable out, ImportTable imports) throws IOException {
+                final long start = statistics.startTimer();
+                final String mixType = imports.nameOf(mix.asType());
+                final String current = "((" + mixType + ") this).";
+
+                final ImmutableList<Terms> terms = properties.stream()
+                        .map(p -> kinds.get(p).termsFor(p, current, "that.", imports))
+                        .collect(list());
+                final ImmutableList<Terms> comparisons = comparedProperties.stream()
+                        .map(p -> kinds.get(p).termsFor(p, current, "that.", imports))
+                        .collect(list());
+                final String otherType = imports.nameOf(qualifiedName) + wildcards;
+                final String stringBuilderType = imports.nameOf(STRING_BUILDER);
+
+                if (engine == Template.Engine.FREEMARKER)
+                    Template.render("helpers.java.template", ImmutableMap.<String, Object>builder()
+                            .put("mixName", mixName)
+                            .put("superMixin", superMixin)
+                            .put("otherType", otherType)
+                            .put("stringBuilderType", stringBuilderType)
+                            .put("terms", terms)
+                            .put("comparisons", comparisons)
+                            .build(), out);
+                else
+                    HelpersEmitter.emit(out, mixName, superMixin, otherType, stringBuilderType, terms, comparisons);
+
+                statistics.templateRendered("helpers.java.template", start);
+            }
+        };
+    }
+
+    /**
+     * The helpers cover the fields of superclasses by chaining to the helpers of the nearest supermixin, provided it
+     * has any. Its mixin is a direct superinterface of the mix's mixin, so that it can be invoked as
+     * {@code X.super.dataEquals(other)}. Warns about the superclasses whose fields are ignored.
+     *
+     * @return the supermixin to chain to, if any
+     */
+    private Optional<Type> superHelpersOf(Reflection reflection, TypeElement e, TypeDeclaration mix) {
+        final List<String> ignored = new ArrayList<>();
+        Optional<Type> supermixin = Optional.empty();
+        Optional<Type> chained = Optional.empty();
+
+        for (Optional<TypeDeclaration> superclass = mix.getSuperclass(); superclass.isPresent(); superclass = superclass.get().getSuperclass()) {
+            final TypeDeclaration type = superclass.get();
+            final Optional<TypeDeclaration> mixin = type.interfaces().filter(DataComputer::isMixin).findFirst();
+            if (!supermixin.isPresent())
+                supermixin = mixin.map(TypeDeclaration::asType);
+
+            if (mixin.isPresent() && hasHelpers(type, mixin.get())) {
+                chained = supermixin;
+                break;
+            }
+            if (ElementFilter.fieldsIn(type.getMirror().getEnclosedElements()).stream().anyMatch(f -> !f.getModifiers().contains(Modifier.STATIC)))
+                ignored.add(type.getQualifiedName().toString());
+        }
+
+        if (!ignored.isEmpty())
+            reflection.getProcessingEnvironment().getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "The helpers ignore the fields of " + String.join(", ", ignored) + ", for lack of @Data(helpers = true) to chain to.", e);
+        return chained;
+    }
+
+    /**
+     * The mix's own mixin is either yet to be generated or was generated by an earlier compilation.
+     */
+    private static boolean isMixin(TypeDeclaration supertype) {
+        return supertype.getMirror().asType().getKind() == TypeKind.ERROR || supertype.isAnnotatedWith(SwizzleMixin.class);
+    }
+
+    /**
+     * Mixins generated by an earlier compilation are checked for the helpers, since {@code @Data} isn't retained.
+     */
+    private static boolean hasHelpers(TypeDeclaration type, TypeDeclaration mixin) {
+        return helpersRequested(type.getMirror()) || mixin.getMirror().asType().getKind() != TypeKind.ERROR
+                && ElementFilter.methodsIn(mixin.getMirror().getEnclosedElements()).stream().anyMatch(m -> m.getSimpleName().contentEquals("dataEquals"));
+    }
+
+    private MixinComponent accessorsForFields(Reflection reflection, ImmutableList<VariableElement> fields) {
+        final TypeElement mix = (TypeElement) fields.get(0).getEnclosingElement();
+        final ImmutableSet<Property> properties = fields.stream()
+                .map(f -> new Property(f, reflection.of(f.asType())))
+                .collect(set());
+
+        return createMixinComponent(reflection, reflection.of(mix), properties);
+    }
+
+    private MixinComponent createMixinComponent(Reflection reflection, final TypeDeclaration mix, final ImmutableSet<Property> properties) {
+        final Template.Engine engine = Template.Engine.selectedIn(reflection.getProcessingEnvironment());
+        final Statistics statistics = reflection.getStatistics();
+
+        return new BytecodeComponent() {
+            @Override
+            public TypeDeclaration getMix() {
+                return mix;
+            }
+
+            @Override
+            public void allocateNames(ImportTable imports) {
+                imports.nameOf(mix.asType());
+                properties.forEach(p -> imports.nameOf(p.getType()));
+            }
+
+            @Override
+            public void writeBody(Appendable out, ImportTable imports) throws IOException {
+                final long start = statistics.startTimer();
+                final String mixType = imports.nameOf(mix.asType());
+
+                if (engine == Template.Engine.FREEMARKER)
+                    Template.render("accessors.java.template", ImmutableMap.of(
+                            "imports", imports,
+                            "mixType", mixType,
+                            "properties", properties
+                    ), out);
+                else
+                    AccessorsEmitter.emit(out, imports, mixType, properties);
+
+                statistics.templateRendered("accessors.java.template", start);
+            }
+
+            @Override
+            public boolean canWriteMembers(Bytecode bytecode) {
+                return properties.stream().map(Property::getField).allMatch(f -> !f.getModifiers().contains(Modifier.STATIC)
+                        && bytecode.isAccessibleThrough(f, mix.getMirror())
+                        && bytecode.isResolved(f.asType()));
             }
 
             @Override
-            public String getBody() {
-                return Template.render("accessors.java.template", ImmutableMap.of(
-                        "simpleMixType", mix.asType().asJavaSource(AsJavaSourceOptions.SIMPLE_NAMES),
-                        "properties", properties
-                ));
+            public void writeMembers(ClassVisitor classVisitor, Bytecode bytecode) {
+                final String mixType = bytecode.internalNameOf(mix.getMirror());
+
+                for (Property property : properties) {
+                    final VariableElement field = property.getField();
+                    final TypeMirror type = field.asType();
+                    final String name = field.getSimpleName().toString();
+                    final String descriptor = bytecode.descriptorOf(type);
+                    final String signature = bytecode.signatureOf(type);
+                    final boolean generic = !signature.equals(descriptor);
+
+                    if (property.isWritable()) {
+                        final MethodVisitor setter = classVisitor.visitMethod(Opcodes.ACC_PUBLIC, "set" + property.getName().getPascalCased(),
+                                "(" + descriptor + ")V", generic ? "(" + signature + ")V" : null, null);
+                        setter.visitCode();
+                        setter.visitVarInsn(Opcodes.ALOAD, 0);
+                        setter.visitTypeInsn(Opcodes.CHECKCAST, mixType);
+                        setter.visitVarInsn(bytecode.loadOpcodeOf(type), 1);
+                        setter.visitFieldInsn(Opcodes.PUTFIELD, mixType, name, descriptor);
+                        setter.visitInsn(Opcodes.RETURN);
+                        setter.visitMaxs(0, 0);
+                        setter.visitEnd();
+                    }
+
+                    final MethodVisitor getter = classVisitor.visitMethod(Opcodes.ACC_PUBLIC, "get" + property.getName().getPascalCased(),
+                            "()" + descriptor, generic ? "()" + signature : null, null);
+                    getter.visitCode();
+                    getter.visitVarInsn(Opcodes.ALOAD, 0);
+                    getter.visitTypeInsn(Opcodes.CHECKCAST, mixType);
+                    getter.visitFieldInsn(Opcodes.GETFIELD, mixType, name, descriptor);
+                    getter.visitInsn(bytecode.returnOpcodeOf(type));
+                    getter.visitMaxs(0, 0);
+                    getter.visitEnd();
+                }
             }
         };
     }
 
+    /**
+     * How a property is compared, hashed and appended by the helpers. Primitives are neither boxed nor wrapped in
+     * varargs arrays, arrays are handled by {@link Arrays}.
+     */
+    enum Kind {
+        INTEGRAL(0),
+        LONG(0, Long.class),
+        BOOLEAN(0, Boolean.class),
+        FLOAT(0, Float.class),
+        DOUBLE(0, Double.class),
+        STRING(1),
+        OBJECT(2),
+        ARRAY(2),
+        NESTED_ARRAY(2);
+
+        private final int cost;
+        private final Optional<FullyQualifiedName> wrapper;
+
+        Kind(int cost) {
+            this.cost = cost;
+            this.wrapper = Optional.empty();
+        }
+
+        Kind(int cost, Class<?> wrapper) {
+            this.cost = cost;
+            this.wrapper = Optional.of(FullyQualifiedName.of(wrapper.getName()));
+        }
+
+        static Kind of(Reflection reflection, TypeMirror type) {
+            switch (type.getKind()) {
+                case BYTE:
+                case SHORT:
+                case CHAR:
+                case INT:
+                    return INTEGRAL;
+                case LONG:
+                    return LONG;
+                case BOOLEAN:
+                    return BOOLEAN;
+                case FLOAT:
+                    return FLOAT;
+                case DOUBLE:
+                    return DOUBLE;
+                case ARRAY:
+                    return ((ArrayType) type).getComponentType().getKind() == TypeKind.ARRAY ? NESTED_ARRAY : ARRAY;
+                default:
+                    final TypeMirror string = reflection.getProcessingEnvironment().getElementUtils().getTypeElement(String.class.getName()).asType();
+                    return reflection.getProcessingEnvironment().getTypeUtils().isSameType(type, string) ? STRING : OBJECT;
+            }
+        }
+
+        /**
+         * @return 0 for primitives, 1 for strings and 2 for everything else
+         */
+        int getCost() {
+            return cost;
+        }
+
+        void allocateNames(ImportTable imports) {
+            wrapper.ifPresent(imports::nameOf);
+
+            switch (this) {
+                case STRING:
+                case OBJECT:
+                    imports.nameOf(OBJECTS);
+                    break;
+                case ARRAY:
+                case NESTED_ARRAY:
+                    imports.nameOf(ARRAYS);
+                    break;
+            }
+        }
+
+        Terms termsFor(Property property, String current, String other, ImportTable imports) {
+            final String name = property.getName().getCamelCased();
+            final String a = current + name;
+            final String b = other + name;
+            final String wrapperType = wrapper.map(imports::nameOf).orElse(null);
+
+            switch (this) {
+                case INTEGRAL:
+                    return new Terms(name, a + " == " + b, a, a);
+                case LONG:
+                case BOOLEAN:
+                    return new Terms(name, a + " == " + b, wrapperType + ".hashCode(" + a + ")", a);
+                case FLOAT:
+                case DOUBLE:
+                    return new Terms(name, wrapperType + ".compare(" + a + ", " + b + ") == 0", wrapperType + ".hashCode(" + a + ")", a);
+                case STRING:
+                case OBJECT:
+                    final String objects = imports.nameOf(OBJECTS);
+                    return new Terms(name, objects + ".equals(" + a + ", " + b + ")", objects + ".hashCode(" + a + ")", a);
+                case ARRAY:
+                    final String arrays = imports.nameOf(ARRAYS);
+                    return new Terms(name, arrays + ".equals(" + a + ", " + b + ")", arrays + ".hashCode(" + a + ")", arrays + ".toString(" + a + ")");
+                case NESTED_ARRAY:
+                    final String deepArrays = imports.nameOf(ARRAYS);
+                    return new Terms(name, deepArrays + ".deepEquals(" + a + ", " + b + ")", deepArrays + ".deepHashCode(" + a + ")", deepArrays + ".deepToString(" + a + ")");
+                default:
+                    throw new AssertionError();
+            }
+        }
+    }
+
+    /**
+     * The expressions the helpers compare, hash and append a property with.
+     */
+    public static class Terms {
+        private final String name;
+        private final String equality;
+        private final String hash;
+        private final String text;
+
+        public Terms(String name, String equality, String hash, String text) {
+            this.name = name;
+            this.equality = equality;
+            this.hash = hash;
+            this.text = text;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEquality() {
+            return equality;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
     public static class Property {
+        private final VariableElement field;
         private final Identifier name;
         private final Type type;
-        private final String simpleTypeName;
         private final boolean writable;
 
         public Property(VariableElement field, Type type) {
+            this.field = field;
             this.name = Identifier.from(field.getSimpleName());
             this.type = type;
-            this.simpleTypeName = type.asJavaSource(AsJavaSourceOptions.SIMPLE_NAMES);
             this.writable = !field.getModifiers().contains(Modifier.FINAL);
         }
 
@@ -95,12 +462,12 @@ public class DataComputer extends MixinComputer {
             return type;
         }
 
-        public String getSimpleTypeName() {
-            return simpleTypeName;
-        }
-
         public boolean isWritable() {
             return writable;
         }
+
+        VariableElement getField() {
+            return field;
+        }
     }
 }
@@ -0,0 +1,57 @@
+package de.benshu.jswizzle.data;
+
+import java.io.IOException;
+
+/**
+ * Compiled form of {@code helpers.java.template}.
+ */
+final class HelpersEmitter {
+    private HelpersEmitter() {}
+
+    static void emit(Appendable out, String mixName, String superMixin, String otherType, String stringBuilderType,
+                     Iterable<DataComputer.Terms> terms, Iterable<DataComputer.Terms> comparisons) throws IOException {
+        out.append("\n    default boolean dataEquals(Object other) {\n");
+        out.append("        if (this == other)\n");
+        out.append("            return true;\n");
+        out.append("        if (other == null || getClass() != other.getClass())\n");
+        out.append("            return false;\n");
+        out.append("\n        final ").append(otherType).append(" that = (").append(otherType).append(") other;\n");
+        out.append("        return ");
+        boolean first = true;
+        if (!superMixin.isEmpty()) {
+            out.append(superMixin).append(".super.dataEquals(other)");
+            first = false;
+        }
+        for (DataComputer.Terms comparison : comparisons) {
+            if (!first)
+                out.append("\n                && ");
+            first = false;
+
+            out.append(comparison.getEquality());
+        }
+        if (first)
+            out.append("true");
+        out.append(";\n");
+        out.append("    }\n");
+
+        out.append("\n    default int dataHashCode() {\n");
+        out.append("        int result = ").append(superMixin.isEmpty() ? "1" : superMixin + ".super.dataHashCode()").append(";\n");
+        for (DataComputer.Terms term : terms)
+            out.append("        result = 31 * result + ").append(term.getHash()).append(";\n");
+        out.append("        return result;\n");
+        out.append("    }\n");
+
+        out.append("\n    default ").append(stringBuilderType).append(" appendTo(").append(stringBuilderType).append(" builder) {\n");
+        if (superMixin.isEmpty())
+            out.append("        return builder.append(\"").append(mixName).append("{\")");
+        else
+            out.append("        return ").append(superMixin).append(".super.appendTo(builder.append(\"").append(mixName).append("{super=\"))");
+        first = superMixin.isEmpty();
+        for (DataComputer.Terms term : terms) {
+            out.append("\n                .append(\"").append(first ? "" : ", ").append(term.getName()).append("=\").append(").append(term.getText()).append(')');
+            first = false;
+        }
+        out.append("\n                .append('}');\n");
+        out.append("    }\n");
+    }
+}
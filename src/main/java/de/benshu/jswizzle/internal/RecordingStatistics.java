@@ -0,0 +1,116 @@
+package de.benshu.jswizzle.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Thread-safe, as templates may be rendered on several threads.
+ */
+final class RecordingStatistics extends Statistics {
+    private final List<long[]> rounds = new ArrayList<>();
+    private final Map<String, Map<String, Long>> computeTimes = new TreeMap<>();
+    private final Map<String, long[]> renderTimes = new TreeMap<>();
+    private final Map<String, Long> fileSizes = new TreeMap<>();
+    private long reflectedTypes;
+    private long reflectedTypeDeclarations;
+    private long reflectedMembers;
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long startTimer() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public synchronized void roundFinished(int round, long start) {
+        rounds.add(new long[]{round, System.nanoTime() - start});
+    }
+
+    @Override
+    public synchronized void mixComputed(String computer, String mixType, long start) {
+        computeTimes.computeIfAbsent(mixType, t -> new TreeMap<>()).merge(computer, System.nanoTime() - start, Long::sum);
+    }
+
+    @Override
+    public synchronized void templateRendered(String templateName, long start) {
+        final long[] renderTime = renderTimes.computeIfAbsent(templateName, n -> new long[2]);
+        renderTime[0] += 1;
+        renderTime[1] += System.nanoTime() - start;
+    }
+
+    @Override
+    public synchronized void fileWritten(String fileName, long bytes) {
+        fileSizes.put(fileName, bytes);
+    }
+
+    @Override
+    public synchronized void typeReflected() {
+        ++reflectedTypes;
+    }
+
+    @Override
+    public synchronized void typeDeclarationReflected() {
+        ++reflectedTypeDeclarations;
+    }
+
+    @Override
+    public synchronized void membersReflected(int count) {
+        reflectedMembers += count;
+    }
+
+    @Override
+    public synchronized void writeJsonTo(Appendable out) throws IOException {
+        out.append("{\n  \"rounds\": [");
+        for (Iterator<long[]> i = rounds.iterator(); i.hasNext(); ) {
+            final long[] round = i.next();
+            out.append("\n    {\"round\": ").append(Long.toString(round[0]))
+                    .append(", \"wallTimeNanos\": ").append(Long.toString(round[1])).append('}')
+                    .append(i.hasNext() ? "," : "\n  ");
+        }
+
+        out.append("],\n  \"computeTimeNanos\": {");
+        for (Iterator<Map.Entry<String, Map<String, Long>>> i = computeTimes.entrySet().iterator(); i.hasNext(); ) {
+            final Map.Entry<String, Map<String, Long>> mix = i.next();
+            out.append("\n    ").append(quote(mix.getKey())).append(": {");
+            for (Iterator<Map.Entry<String, Long>> j = mix.getValue().entrySet().iterator(); j.hasNext(); ) {
+                final Map.Entry<String, Long> computer = j.next();
+                out.append(quote(computer.getKey())).append(": ").append(Long.toString(computer.getValue()))
+                        .append(j.hasNext() ? ", " : "");
+            }
+            out.append('}').append(i.hasNext() ? "," : "\n  ");
+        }
+
+        out.append("},\n  \"templates\": {");
+        for (Iterator<Map.Entry<String, long[]>> i = renderTimes.entrySet().iterator(); i.hasNext(); ) {
+            final Map.Entry<String, long[]> template = i.next();
+            out.append("\n    ").append(quote(template.getKey()))
+                    .append(": {\"renders\": ").append(Long.toString(template.getValue()[0]))
+                    .append(", \"renderTimeNanos\": ").append(Long.toString(template.getValue()[1])).append('}')
+                    .append(i.hasNext() ? "," : "\n  ");
+        }
+
+        out.append("},\n  \"generatedBytes\": {");
+        for (Iterator<Map.Entry<String, Long>> i = fileSizes.entrySet().iterator(); i.hasNext(); ) {
+            final Map.Entry<String, Long> file = i.next();
+            out.append("\n    ").append(quote(file.getKey())).append(": ").append(Long.toString(file.getValue()))
+                    .append(i.hasNext() ? "," : "\n  ");
+        }
+
+        out.append("},\n  \"reflectedTypes\": ").append(Long.toString(reflectedTypes))
+                .append(",\n  \"reflectedTypeDeclarations\": ").append(Long.toString(reflectedTypeDeclarations))
+                .append(",\n  \"reflectedMembers\": ").append(Long.toString(reflectedMembers))
+                .append("\n}\n");
+    }
+
+    private static String quote(String string) {
+        return '"' + string.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
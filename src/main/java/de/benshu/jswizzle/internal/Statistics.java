@@ -0,0 +1,47 @@
+package de.benshu.jswizzle.internal;
+
+import java.io.IOException;
+
+/**
+ * Collects performance figures of the processor. Obtain timestamps through {@link #startTimer()} and pass them back
+ * when reporting; the {@link #none() disabled} instance neither reads the clock nor records anything.
+ */
+public abstract class Statistics {
+    private static final Statistics NONE = new Statistics() {};
+
+    public static Statistics none() {
+        return NONE;
+    }
+
+    public static Statistics recording() {
+        return new RecordingStatistics();
+    }
+
+    Statistics() {}
+
+    public boolean isEnabled() {
+        return false;
+    }
+
+    public long startTimer() {
+        return 0;
+    }
+
+    public void roundFinished(int round, long start) {}
+
+    public void mixComputed(String computer, String mixType, long start) {}
+
+    public void templateRendered(String templateName, long start) {}
+
+    public void fileWritten(String fileName, long bytes) {}
+
+    public void typeReflected() {}
+
+    public void typeDeclarationReflected() {}
+
+    public void membersReflected(int count) {}
+
+    public void writeJsonTo(Appendable out) throws IOException {
+        out.append("{}\n");
+    }
+}
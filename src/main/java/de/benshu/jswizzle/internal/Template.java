@@ -1,14 +1,18 @@
 package de.benshu.jswizzle.internal;
 
 import com.google.common.base.Throwables;
+import com.google.common.io.CharStreams;
 import freemarker.template.Configuration;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
 
+import javax.annotation.processing.ProcessingEnvironment;
 import java.io.IOException;
 import java.io.StringWriter;
 
 public class Template {
+    public static final String ENGINE_OPTION = "jswizzle.templates";
+
     private static final Configuration freemarkerConfiguration = new Configuration(Configuration.VERSION_2_3_22);
 
     static {
@@ -17,14 +21,30 @@ public class Template {
         freemarkerConfiguration.setDefaultEncoding("UTF-8");
     }
 
+    /**
+     * The built-in templates are available as compiled emitters, which write straight into an {@link Appendable}.
+     * FreeMarker remains available for user-supplied templates and can be forced for the built-in ones by passing
+     * {@code -Ajswizzle.templates=freemarker}.
+     */
+    public enum Engine {
+        COMPILED,
+        FREEMARKER;
+
+        public static Engine selectedIn(ProcessingEnvironment processingEnvironment) {
+            return "freemarker".equals(processingEnvironment.getOptions().get(ENGINE_OPTION)) ? FREEMARKER : COMPILED;
+        }
+    }
+
     public static String render(String templateName, Object model) {
-        try {
-            final StringWriter writer = new StringWriter();
+        final StringWriter writer = new StringWriter();
+        render(templateName, model, writer);
+        return writer.toString();
+    }
 
+    public static void render(String templateName, Object model, Appendable out) {
+        try {
             freemarkerConfiguration.getTemplate(templateName)
-                    .process(model, writer);
-
-            return writer.toString();
+                    .process(model, CharStreams.asWriter(out));
         } catch (TemplateException | IOException e) {
             throw Throwables.propagate(e);
         }
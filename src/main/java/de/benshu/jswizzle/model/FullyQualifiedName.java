@@ -1,6 +1,9 @@
 package de.benshu.jswizzle.model;
 
-import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -12,8 +15,27 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class FullyQualifiedName implements Iterable<String>, JavaSourceConvertible {
+    private static final Splitter DOT_SPLITTER = Splitter.on('.');
+
+    /**
+     * Interned names by their qualified form. Values are weakly referenced, so that names of types which are no longer
+     * reflected can be collected, e.g. in between builds in a long-lived daemon.
+     */
+    private static final LoadingCache<String, FullyQualifiedName> INTERNED = CacheBuilder.newBuilder()
+            .weakValues()
+            .build(new CacheLoader<String, FullyQualifiedName>() {
+                @Override
+                public FullyQualifiedName load(String qualifiedName) {
+                    return create(ImmutableList.copyOf(DOT_SPLITTER.split(qualifiedName)));
+                }
+            });
+
     public static FullyQualifiedName of(TypeElement element) {
-        return create(element.getQualifiedName().toString().split("\\."));
+        return of(element.getQualifiedName());
+    }
+
+    public static FullyQualifiedName of(CharSequence qualifiedName) {
+        return INTERNED.getUnchecked(qualifiedName.toString());
     }
 
     public static FullyQualifiedName create(String... names) {
@@ -25,15 +47,21 @@ public class FullyQualifiedName implements Iterable<String>, JavaSourceConvertib
     }
 
     private final ImmutableList<String> names;
+    private final String qualifiedName;
 
     public FullyQualifiedName(ImmutableList<String> names) {
         this.names = names;
+        this.qualifiedName = String.join(".", names);
+    }
+
+    public String getSimpleName() {
+        return names.get(names.size() - 1);
     }
 
     public String asJavaSource(ImmutableSet<AsJavaSourceOptions> options) {
         return options.contains(AsJavaSourceOptions.SIMPLE_NAMES)
-                ? names.get(names.size() - 1)
-                : Joiner.on(".").join(names);
+                ? getSimpleName()
+                : qualifiedName;
     }
 
     @Override
@@ -54,8 +82,18 @@ public class FullyQualifiedName implements Iterable<String>, JavaSourceConvertib
         return StreamSupport.stream(spliterator(), true);
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || obj instanceof FullyQualifiedName && ((FullyQualifiedName) obj).qualifiedName.equals(qualifiedName);
+    }
+
+    @Override
+    public int hashCode() {
+        return qualifiedName.hashCode();
+    }
+
     @Override
     public String toString() {
-        return asJavaSource();
+        return qualifiedName;
     }
 }
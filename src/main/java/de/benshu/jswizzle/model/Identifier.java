@@ -13,31 +13,40 @@ public class Identifier {
 
     private final CaseFormat caseFormat;
     private final String identifier;
+    private final String camelCased;
+
+    private String pascalCased;
+    private String screamingSnakeCased;
 
     private Identifier(CaseFormat caseFormat, String identifier) {
         this.caseFormat = caseFormat;
         this.identifier = identifier;
+        this.camelCased = caseFormat.to(CaseFormat.LOWER_CAMEL, identifier);
     }
 
     public String getCamelCased() {
-        return caseFormat.to(CaseFormat.LOWER_CAMEL, identifier);
+        return camelCased;
     }
 
     public String getPascalCased() {
-        return caseFormat.to(CaseFormat.UPPER_CAMEL, identifier);
+        if (pascalCased == null)
+            pascalCased = caseFormat.to(CaseFormat.UPPER_CAMEL, identifier);
+        return pascalCased;
     }
 
     public String getScreamingSnakeCased() {
-        return caseFormat.to(CaseFormat.UPPER_UNDERSCORE, identifier);
+        if (screamingSnakeCased == null)
+            screamingSnakeCased = caseFormat.to(CaseFormat.UPPER_UNDERSCORE, identifier);
+        return screamingSnakeCased;
     }
 
     @Override
     public int hashCode() {
-        return getCamelCased().hashCode();
+        return camelCased.hashCode();
     }
 
     @Override
     public boolean equals(Object obj) {
-        return obj == this || obj instanceof Identifier && ((Identifier) obj).getCamelCased().equals(getCamelCased());
+        return obj == this || obj instanceof Identifier && ((Identifier) obj).camelCased.equals(camelCased);
     }
 }
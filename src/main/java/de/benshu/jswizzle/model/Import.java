@@ -4,6 +4,11 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
 
+/**
+ * @deprecated Imports are allocated through an {@link ImportTable}. Only kept for components implementing the
+ * deprecated {@link MixinComponent#getRequiredImports()}.
+ */
+@Deprecated
 public abstract class Import implements CharSequence, JavaSourceConvertible {
     public static Import ofPackage(FullyQualifiedName fqn) {
         return new Import(FluentIterable.from(fqn).append("*").join(Joiner.on("."))) {};
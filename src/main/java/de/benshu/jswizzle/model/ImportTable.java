@@ -0,0 +1,131 @@
+package de.benshu.jswizzle.model;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import javax.lang.model.util.Elements;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static de.benshu.commons.core.streams.Collectors.list;
+
+/**
+ * The imports of a generated source file. Names are allocated as types are referenced: the first type to claim a simple
+ * name gets it, every other type with the same simple name is referred to by its qualified name. Types of the file's
+ * own package and of {@code java.lang} claim their simple names without an import, unless a {@code java.lang} type is
+ * shadowed by a type of the file's package.
+ * <p>
+ * Names must be allocated on the processor thread, because rendering a type inspects javac's element model. Looking up
+ * names which have been allocated before is fine from any thread the table has been handed to.
+ */
+public final class ImportTable {
+    private static final String JAVA_LANG = "java.lang";
+
+    private final Elements elements;
+    private final String pakkage;
+    private final Map<String, FullyQualifiedName> claims = new HashMap<>();
+    private final Map<FullyQualifiedName, String> names = new HashMap<>();
+    private final Map<Type, String> typeNames = new HashMap<>();
+    private final Set<String> unresolvedTypes = new TreeSet<>();
+    private final Set<FullyQualifiedName> imports = new TreeSet<>(Comparator.comparing(FullyQualifiedName::toString));
+    private final Set<String> onDemandImports = new TreeSet<>();
+
+    /**
+     * @param reflection    the reflection of the current round
+     * @param pakkage       the package of the source file
+     * @param ownName       the simple name of the type declared by the source file
+     * @param reservedNames further simple names which must not refer to imported types, e.g. type variables
+     */
+    public ImportTable(Reflection reflection, String pakkage, String ownName, Iterable<String> reservedNames) {
+        this.elements = reflection.getProcessingEnvironment().getElementUtils();
+        this.pakkage = pakkage;
+
+        nameOf(FullyQualifiedName.of(pakkage + "." + ownName));
+        for (String reservedName : reservedNames)
+            claims.put(reservedName, FullyQualifiedName.of(reservedName));
+    }
+
+    public String nameOf(FullyQualifiedName type) {
+        final String allocated = names.get(type);
+        if (allocated != null)
+            return allocated;
+
+        final String simpleName = type.getSimpleName();
+        final FullyQualifiedName claimant = claims.get(simpleName);
+
+        final String name;
+        if (claimant == null) {
+            claims.put(simpleName, type);
+            if (!isImplicitlyVisible(type))
+                imports.add(type);
+            name = simpleName;
+        } else {
+            name = type.toString();
+        }
+
+        names.put(type, name);
+        return name;
+    }
+
+    public String nameOf(Type type) {
+        String name = typeNames.get(type);
+        if (name == null) {
+            name = type.asJavaSource(this::nameOf);
+            typeNames.put(type, name);
+            type.unresolvedTypes().forEach(unresolvedTypes::add);
+        }
+        return name;
+    }
+
+    /**
+     * Adds an import required by a component implementing the deprecated {@link MixinComponent#getRequiredImports()}.
+     * Single type imports claim their simple names like any other type.
+     */
+    @Deprecated
+    public void require(Import requiredImport) {
+        final String importString = requiredImport.toString();
+        if (importString.endsWith(".*"))
+            onDemandImports.add(importString);
+        else
+            nameOf(FullyQualifiedName.of(importString));
+    }
+
+    /**
+     * @return the qualified names to import, in lexicographical order
+     */
+    public ImmutableList<String> getImports() {
+        return Stream.concat(imports.stream().map(FullyQualifiedName::toString), onDemandImports.stream())
+                .sorted()
+                .collect(list());
+    }
+
+    /**
+     * @return the simple names of the unresolved types among those rendered through this table
+     */
+    public ImmutableSet<String> getUnresolvedTypes() {
+        return ImmutableSet.copyOf(unresolvedTypes);
+    }
+
+    private boolean isImplicitlyVisible(FullyQualifiedName type) {
+        return isMemberOf(type, pakkage) || isMemberOf(type, JAVA_LANG) && !isShadowed(type);
+    }
+
+    private boolean isShadowed(FullyQualifiedName javaLangType) {
+        final String simpleName = javaLangType.getSimpleName();
+        return elements.getTypeElement(pakkage.isEmpty() ? simpleName : pakkage + "." + simpleName) != null;
+    }
+
+    private static boolean isMemberOf(FullyQualifiedName type, String pakkage) {
+        final String qualifiedName = type.toString();
+        if (pakkage.isEmpty())
+            return qualifiedName.equals(type.getSimpleName());
+
+        return qualifiedName.length() == pakkage.length() + 1 + type.getSimpleName().length()
+                && qualifiedName.startsWith(pakkage)
+                && qualifiedName.charAt(pakkage.length()) == '.';
+    }
+}
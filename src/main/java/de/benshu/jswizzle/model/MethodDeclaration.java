@@ -1,5 +1,6 @@
 package de.benshu.jswizzle.model;
 
+import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableList;
 import de.benshu.commons.core.streams.Collectors;
 
@@ -7,6 +8,7 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 
 public class MethodDeclaration extends MemberDeclaration implements AnnotatedReflection, ParameterizedExecutableElementReflection, HasModifiersMixin {
     private final Reflection reflection;
@@ -44,4 +46,22 @@ public class MethodDeclaration extends MemberDeclaration implements AnnotatedRef
     public Type getReturnType() {
         return substitutions.applyTo(reflection.of(mirror.getReturnType()));
     }
+
+    /**
+     * @return whether this method is a getter, i.e. has neither type parameters nor parameters and is named
+     * {@code getX} or {@code isX}
+     */
+    public boolean isGetter() {
+        return mirror.getTypeParameters().isEmpty() && mirror.getParameters().isEmpty() && getName().matches("^(get|is)[A-Z].*");
+    }
+
+    /**
+     * @return the name of the property this getter reads, e.g. {@code x} for {@code getX}
+     */
+    public Identifier getPropertyName() {
+        checkState(isGetter());
+
+        final String name = getName();
+        return Identifier.from(name.substring(name.startsWith("get") ? 3 : 2), CaseFormat.UPPER_CAMEL);
+    }
 }
@@ -1,11 +1,89 @@
 package de.benshu.jswizzle.model;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
+import java.io.IOException;
+
 public interface MixinComponent {
     TypeDeclaration getMix();
 
-    ImmutableSet<Import> getRequiredImports();
+    /**
+     * @deprecated Allocate names through {@link #allocateNames(ImportTable)} instead. Only consulted by its default
+     * implementation.
+     */
+    @Deprecated
+    default ImmutableSet<Import> getRequiredImports() {
+        return ImmutableSet.of();
+    }
+
+    /**
+     * Allocates the names of all types this component's body refers to. Invoked on the processor thread, once all
+     * components of the mixin have been computed and before any of their bodies are written.
+     * <p>
+     * By default the {@link #getRequiredImports() required imports} are added to the table, for components written
+     * before names were allocated.
+     */
+    @SuppressWarnings("deprecation")
+    default void allocateNames(ImportTable imports) {
+        getRequiredImports().forEach(imports::require);
+    }
+
+    /**
+     * @return the simple names of the member types this component declares in the mixin, which imported types must
+     * not be referred to by
+     */
+    default ImmutableSet<String> getMemberTypeNames() {
+        return ImmutableSet.of();
+    }
+
+    /**
+     * @return the interfaces the mixin extends on behalf of this component, in addition to its supermixins
+     */
+    default ImmutableList<Type> getSuperinterfaces() {
+        return ImmutableList.of();
+    }
+
+    /**
+     * Writes this component's members straight into {@code out}, which usually is the writer of the generated source
+     * file. Implementations should not buffer the body as a whole.
+     * <p>
+     * With {@code -Ajswizzle.parallelism} this method is invoked off the processor thread, so it must not access
+     * javac's element model. Extract everything needed while computing the component and only look up names that
+     * were allocated by {@link #allocateNames(ImportTable)}.
+     * <p>
+     * By default delegates to the deprecated {@link #writeBody(Appendable)}, for components written before names were
+     * allocated.
+     */
+    default void writeBody(Appendable out, ImportTable imports) throws IOException {
+        writeBody(out);
+    }
+
+    /**
+     * @deprecated Implement {@link #writeBody(Appendable, ImportTable)} instead. By default appends {@link #getBody()}.
+     */
+    @Deprecated
+    default void writeBody(Appendable out) throws IOException {
+        out.append(getBody());
+    }
+
+    /**
+     * @deprecated Implement {@link #writeBody(Appendable, ImportTable)} instead. The processor reports components which
+     * implement none of the body methods as errors, so this default is never reached while processing.
+     */
+    @Deprecated
+    default String getBody() {
+        throw new UnsupportedOperationException(getClass().getName() + " implements none of the writeBody methods.");
+    }
 
-    String getBody();
+    default String getBody(ImportTable imports) {
+        try {
+            final StringBuilder body = new StringBuilder();
+            writeBody(body, imports);
+            return body.toString();
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
 }
@@ -12,6 +12,6 @@ public class Package {
     }
 
     public FullyQualifiedName getQualifiedName() {
-        return FullyQualifiedName.create(pakkage.getQualifiedName().toString().split("\\."));
+        return FullyQualifiedName.of(pakkage.getQualifiedName());
     }
 }
@@ -1,34 +1,77 @@
 package de.benshu.jswizzle.model;
 
 import com.google.common.collect.ImmutableList;
+import de.benshu.jswizzle.internal.Statistics;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Entry point to the reflection model. Instances memoize the {@link Type}s and {@link TypeDeclaration}s they hand out,
+ * so that each type is reflected only once. They hold on to javac's element model and are therefore meant to live for
+ * a single processing round. Instances are not thread-safe.
+ */
 public class Reflection {
     public static Reflection reflectionFor(ProcessingEnvironment processingEnvironment) {
-        return new Reflection(processingEnvironment);
+        return reflectionFor(processingEnvironment, Statistics.none());
+    }
+
+    public static Reflection reflectionFor(ProcessingEnvironment processingEnvironment, Statistics statistics) {
+        return new Reflection(processingEnvironment, statistics);
     }
 
     private final ProcessingEnvironment processingEnvironment;
+    private final Statistics statistics;
+    private final Map<TypeMirror, Type> types = new HashMap<>();
+    private final Map<TypeElement, Map<Substitutions, TypeDeclaration>> typeDeclarations = new HashMap<>();
 
-    private Reflection(ProcessingEnvironment processingEnvironment) {
+    private Reflection(ProcessingEnvironment processingEnvironment, Statistics statistics) {
         this.processingEnvironment = processingEnvironment;
+        this.statistics = statistics;
     }
 
     public ProcessingEnvironment getProcessingEnvironment() {
         return processingEnvironment;
     }
 
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
     public Type of(TypeMirror typeMirror) {
-        return new Type(this, typeMirror);
+        return types.computeIfAbsent(typeMirror, m -> {
+            statistics.typeReflected();
+            return new Type(this, m);
+        });
     }
 
     public TypeDeclaration of(TypeElement typeElement) {
-        return new TypeDeclaration(this, typeElement, of(typeElement.asType()), substitutions().of(typeElement.getTypeParameters()).throughVariables());
+        return declarationOf(typeElement, of(typeElement.asType()), substitutions().of(typeElement.getTypeParameters()).throughVariables());
+    }
+
+    TypeDeclaration declarationOf(TypeElement typeElement, Type type, Substitutions substitutions) {
+        final Map<Substitutions, TypeDeclaration> declarations = typeDeclarations.computeIfAbsent(typeElement, e -> new HashMap<>(2));
+        final TypeDeclaration cached = declarations.get(substitutions);
+        if (cached != null)
+            return cached;
+
+        statistics.typeDeclarationReflected();
+        final TypeDeclaration typeDeclaration = new TypeDeclaration(this, typeElement, type, substitutions);
+        declarations.put(substitutions, typeDeclaration);
+        return typeDeclaration;
+    }
+
+    /**
+     * Drops the memoized declarations of the given type, so that they and the members they have reflected can be
+     * collected. Declaring the type again is fine, but yields new instances.
+     */
+    public void forget(TypeElement typeElement) {
+        typeDeclarations.remove(typeElement);
     }
 
     public LocalVariableDeclaration of(VariableElement variableElement) {
@@ -13,6 +13,7 @@ import javax.lang.model.type.TypeVariable;
 import javax.lang.model.type.WildcardType;
 import javax.lang.model.util.SimpleTypeVisitor8;
 import javax.lang.model.util.Types;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
@@ -22,13 +23,20 @@ import static com.google.common.collect.Maps.immutableEntry;
 import static de.benshu.commons.core.streams.Collectors.list;
 import static de.benshu.commons.core.streams.Collectors.map;
 
+/**
+ * Maps type parameters to type arguments. Substituted types are memoized per mirror; instances are therefore not
+ * thread-safe.
+ */
 public class Substitutions {
+    private static final Substitutions NONE = new Substitutions(null, ImmutableMap.of());
+
     public static Substitutions none() {
-        return new Substitutions(null, ImmutableMap.of());
+        return NONE;
     }
 
     private final Reflection reflection;
     private final ImmutableMap<TypeParameterElement, Type> substitutions;
+    private final Map<TypeMirror, Type> substituted = new HashMap<>();
 
     private Substitutions(Reflection reflection, ImmutableMap<TypeParameterElement, Type> substitutions) {
         this.reflection = reflection;
@@ -51,7 +59,31 @@ public class Substitutions {
 
     public Type applyTo(Type type) {
         return substitutions.isEmpty() ? type
-                : new SubstitutingTypeVisitor().visit(type.getMirror());
+                : applyTo(type.getMirror());
+    }
+
+    private Type applyTo(TypeMirror mirror) {
+        final Type cached = substituted.get(mirror);
+        if (cached != null)
+            return cached;
+
+        final Type result = new SubstitutingTypeVisitor().visit(mirror);
+        substituted.put(mirror, result);
+        return result;
+    }
+
+    /**
+     * Composes these substitutions with {@code outer} ones, i.e. the result substitutes each of this instance's type
+     * parameters with its argument after {@code outer} has been applied to that argument. Used when moving from a type
+     * to one of its supertypes, so that the chain of substitutions never has to be re-applied hop by hop.
+     */
+    public Substitutions composedWith(Substitutions outer) {
+        if (outer.substitutions.isEmpty())
+            return this;
+
+        return new Substitutions(outer.reflection, substitutions.entrySet().stream()
+                .map(e -> immutableEntry(e.getKey(), outer.applyTo(e.getValue())))
+                .collect(map()));
     }
 
     private class SubstitutingTypeVisitor extends SimpleTypeVisitor8<Type, Void> {
@@ -63,19 +95,14 @@ public class Substitutions {
 
         @Override
         public Type visitDeclared(DeclaredType declaredType, Void aVoid) {
-            return reflection.of(types.getDeclaredType(
-                    (TypeElement) declaredType.asElement(),
-                    applySubstitutionsToArgumentsOf(declaredType)
-            ));
+            return declaredType.getTypeArguments().isEmpty() ? reflection.of(declaredType)
+                    : reflection.of(types.getDeclaredType((TypeElement) declaredType.asElement(), applySubstitutionsToArgumentsOf(declaredType)));
         }
 
         @Override
         public Type visitTypeVariable(TypeVariable variable, Void aVoid) {
-            return substitutions.entrySet().stream()
-                    .filter(e -> e.getKey().asType().equals(variable))
-                    .map(Map.Entry::getValue)
-                    .findAny()
-                    .orElse(reflection.of(variable));
+            final Type substitute = substitutions.get(variable.asElement());
+            return substitute == null ? reflection.of(variable) : substitute;
         }
 
         @Override
@@ -96,7 +123,7 @@ public class Substitutions {
 
         private TypeMirror[] applySubstitutionsToArgumentsOf(DeclaredType declaredType) {
             return declaredType.getTypeArguments().stream()
-                    .map(this::visit)
+                    .map(Substitutions.this::applyTo)
                     .map(Type::getMirror)
                     .toArray(TypeMirror[]::new);
         }
@@ -11,6 +11,7 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.TypeVariable;
 import javax.lang.model.type.WildcardType;
 import javax.lang.model.util.SimpleTypeVisitor8;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.joining;
@@ -19,6 +20,11 @@ public class Type implements JavaSourceConvertible {
     private final Reflection reflection;
     private final TypeMirror mirror;
 
+    private String javaSource;
+    private String simpleJavaSource;
+    private ImmutableSet<FullyQualifiedName> referencedTypes;
+    private ImmutableSet<String> unresolvedTypes;
+
     Type(Reflection reflection, TypeMirror mirror) {
         this.reflection = reflection;
         this.mirror = mirror;
@@ -43,7 +49,26 @@ public class Type implements JavaSourceConvertible {
     }
 
     public String asJavaSource(ImmutableSet<AsJavaSourceOptions> options) {
-        return new AsJavaSourceVisitor(options).visit(mirror);
+        if (options.contains(AsJavaSourceOptions.SIMPLE_NAMES)) {
+            if (simpleJavaSource == null)
+                simpleJavaSource = asJavaSource(n -> n.asJavaSource(options));
+            return simpleJavaSource;
+        } else {
+            if (javaSource == null)
+                javaSource = asJavaSource(n -> n.asJavaSource(options));
+            return javaSource;
+        }
+    }
+
+    /**
+     * @return this type in Java source form, with the names of referenced types allocated by {@code imports}
+     */
+    public String asJavaSource(ImportTable imports) {
+        return imports.nameOf(this);
+    }
+
+    String asJavaSource(Function<FullyQualifiedName, String> typeNames) {
+        return new AsJavaSourceVisitor(typeNames).visit(mirror);
     }
 
     @Override
@@ -52,7 +77,55 @@ public class Type implements JavaSourceConvertible {
     }
 
     public Stream<FullyQualifiedName> referencedTypes() {
-        return TypeReferenceCollectingVisitor.INSTANCE.visit(mirror, ImmutableSet.builder()).build().stream();
+        if (referencedTypes == null)
+            referencedTypes = TypeReferenceCollectingVisitor.INSTANCE.visit(mirror, ImmutableSet.builder()).build();
+        return referencedTypes.stream();
+    }
+
+    /**
+     * @return the simple names of the referenced types javac could not resolve (yet), e.g. because they are generated
+     */
+    public Stream<String> unresolvedTypes() {
+        if (unresolvedTypes == null)
+            unresolvedTypes = UnresolvedTypeCollectingVisitor.INSTANCE.visit(mirror, ImmutableSet.builder()).build();
+        return unresolvedTypes.stream();
+    }
+
+    private static class UnresolvedTypeCollectingVisitor extends SimpleTypeVisitor8<ImmutableSet.Builder<String>, ImmutableSet.Builder<String>> {
+        private static UnresolvedTypeCollectingVisitor INSTANCE = new UnresolvedTypeCollectingVisitor();
+
+        @Override
+        public ImmutableSet.Builder<String> visitError(ErrorType errorType, ImmutableSet.Builder<String> aggregator) {
+            aggregator.add(errorType.asElement().getSimpleName().toString());
+            errorType.getTypeArguments().forEach(a -> visit(a, aggregator));
+            return aggregator;
+        }
+
+        @Override
+        public ImmutableSet.Builder<String> visitDeclared(DeclaredType declaredType, ImmutableSet.Builder<String> aggregator) {
+            declaredType.getTypeArguments().forEach(a -> visit(a, aggregator));
+            return aggregator;
+        }
+
+        @Override
+        public ImmutableSet.Builder<String> visitArray(ArrayType arrayType, ImmutableSet.Builder<String> aggregator) {
+            return visit(arrayType.getComponentType(), aggregator);
+        }
+
+        @Override
+        public ImmutableSet.Builder<String> visitWildcard(WildcardType wildcardType, ImmutableSet.Builder<String> aggregator) {
+            if (wildcardType.getExtendsBound() != null)
+                return visit(wildcardType.getExtendsBound(), aggregator);
+            else if (wildcardType.getSuperBound() != null)
+                return visit(wildcardType.getSuperBound(), aggregator);
+            else
+                return aggregator;
+        }
+
+        @Override
+        protected ImmutableSet.Builder<String> defaultAction(TypeMirror typeMirror, ImmutableSet.Builder<String> aggregator) {
+            return aggregator;
+        }
     }
 
     private static class TypeReferenceCollectingVisitor extends SimpleTypeVisitor8<ImmutableSet.Builder<FullyQualifiedName>, ImmutableSet.Builder<FullyQualifiedName>> {
@@ -67,7 +140,7 @@ public class Type implements JavaSourceConvertible {
 
         @Override
         public ImmutableSet.Builder<FullyQualifiedName> visitArray(ArrayType arrayType, ImmutableSet.Builder<FullyQualifiedName> aggregator) {
-            return visit(arrayType.getComponentType());
+            return visit(arrayType.getComponentType(), aggregator);
         }
 
         @Override
@@ -87,15 +160,15 @@ public class Type implements JavaSourceConvertible {
     }
 
     private static class AsJavaSourceVisitor extends SimpleTypeVisitor8<String, Void> {
-        private final ImmutableSet<AsJavaSourceOptions> options;
+        private final Function<FullyQualifiedName, String> typeNames;
 
-        public AsJavaSourceVisitor(ImmutableSet<AsJavaSourceOptions> options) {
-            this.options = options;
+        public AsJavaSourceVisitor(Function<FullyQualifiedName, String> typeNames) {
+            this.typeNames = typeNames;
         }
 
         @Override
         public String visitDeclared(DeclaredType declaredType, Void v) {
-            return FullyQualifiedName.of((TypeElement) declaredType.asElement()).asJavaSource(options) + (declaredType.getTypeArguments().isEmpty() ? ""
+            return typeNames.apply(FullyQualifiedName.of((TypeElement) declaredType.asElement())) + (declaredType.getTypeArguments().isEmpty() ? ""
                     : "<" + declaredType.getTypeArguments().stream().map(this::visit).collect(joining(", ")) + ">");
         }
 
@@ -1,5 +1,7 @@
 package de.benshu.jswizzle.model;
 
+import com.google.common.collect.ImmutableList;
+
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
@@ -19,6 +21,11 @@ public class TypeDeclaration implements NamedReflection, AnnotatedReflection, Ha
     private final Type type;
     private final Substitutions substitutions;
 
+    private Optional<TypeDeclaration> superclass;
+    private ImmutableList<TypeDeclaration> interfaces;
+    private ImmutableList<MemberDeclaration> declaredMemberDeclarations;
+    private ImmutableList<MemberDeclaration> allMemberDeclarations;
+
     public TypeDeclaration(Reflection reflection, TypeElement mirror, Type type, Substitutions substitutions) {
         this.reflection = reflection;
         this.mirror = mirror;
@@ -82,10 +89,12 @@ public class TypeDeclaration implements NamedReflection, AnnotatedReflection, Ha
     }
 
     public Optional<TypeDeclaration> getSuperclass() {
-        return Optional.of(mirror.getSuperclass())
-                .filter(t -> t.getKind() != TypeKind.NONE)
-                .map(DeclaredType.class::cast)
-                .map(this::toTypeDeclaration);
+        if (superclass == null)
+            superclass = Optional.of(mirror.getSuperclass())
+                    .filter(t -> t.getKind() != TypeKind.NONE)
+                    .map(DeclaredType.class::cast)
+                    .map(this::toTypeDeclaration);
+        return superclass;
     }
 
     public Stream<TypeDeclaration> supertypes() {
@@ -97,17 +106,28 @@ public class TypeDeclaration implements NamedReflection, AnnotatedReflection, Ha
     }
 
     public Stream<TypeDeclaration> interfaces() {
-        return mirror.getInterfaces().stream()
-                .map(DeclaredType.class::cast)
-                .map(this::toTypeDeclaration);
+        if (interfaces == null)
+            interfaces = mirror.getInterfaces().stream()
+                    .map(DeclaredType.class::cast)
+                    .map(this::toTypeDeclaration)
+                    .collect(list());
+        return interfaces.stream();
     }
 
     public Stream<MemberDeclaration> allMemberDeclarations() {
-        return Stream.concat(declaredMemberDeclarations(), inheritedMemberDeclarations());
+        if (allMemberDeclarations == null)
+            allMemberDeclarations = Stream.concat(declaredMemberDeclarations(), inheritedMemberDeclarations()).collect(list());
+        return allMemberDeclarations.stream();
     }
 
     public Stream<MemberDeclaration> declaredMemberDeclarations() {
-        return mirror.getEnclosedElements().stream().flatMap(this::toPotentialMemberDeclaration);
+        if (declaredMemberDeclarations == null) {
+            declaredMemberDeclarations = mirror.getEnclosedElements().stream()
+                    .flatMap(this::toPotentialMemberDeclaration)
+                    .collect(list());
+            reflection.getStatistics().membersReflected(declaredMemberDeclarations.size());
+        }
+        return declaredMemberDeclarations.stream();
     }
 
     private Stream<MemberDeclaration> toPotentialMemberDeclaration(Element element) {
@@ -131,11 +151,11 @@ public class TypeDeclaration implements NamedReflection, AnnotatedReflection, Ha
     private TypeDeclaration toTypeDeclaration(DeclaredType supertype) {
         final TypeElement supertypeElement = (TypeElement) supertype.asElement();
 
-        return new TypeDeclaration(reflection, supertypeElement, substitutions.applyTo(reflection.of(supertype)), reflection.substitutions()
+        return reflection.declarationOf(supertypeElement, substitutions.applyTo(reflection.of(supertype)), reflection.substitutions()
                 .of(supertypeElement.getTypeParameters())
                 .through(supertype.getTypeArguments().stream()
                         .map(reflection::of)
-                        .map(substitutions::applyTo)
-                        .collect(list())));
+                        .collect(list()))
+                .composedWith(substitutions));
     }
 }
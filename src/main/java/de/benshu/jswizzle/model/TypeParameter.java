@@ -32,6 +32,13 @@ public class TypeParameter implements JavaSourceConvertible {
                 : " extends " + upperBounds.stream().map(b -> b.asJavaSource(options)).collect(joining("&")));
     }
 
+    public String asJavaSource(ImportTable imports) {
+        final ImmutableList<Type> upperBounds = getUpperBounds();
+
+        return getName().getScreamingSnakeCased() + (upperBounds.isEmpty() ? ""
+                : " extends " + upperBounds.stream().map(imports::nameOf).collect(joining("&")));
+    }
+
     public Stream<FullyQualifiedName> referencedTypes() {
         return getUpperBounds().stream().flatMap(Type::referencedTypes);
     }
@@ -49,6 +49,11 @@ public class TypeParameters implements Iterable<TypeParameter>, JavaSourceConver
                 : "<" + stream().map(p -> p.asJavaSource(options)).collect(joining(", ")) + ">";
     }
 
+    public String asJavaSource(ImportTable imports) {
+        return byOrder.isEmpty() ? ""
+                : "<" + stream().map(p -> p.asJavaSource(imports)).collect(joining(", ")) + ">";
+    }
+
     public Stream<FullyQualifiedName> referencedTypes() {
         return stream().flatMap(TypeParameter::referencedTypes);
     }
@@ -0,0 +1,50 @@
+package de.benshu.jswizzle.ordered;
+
+import de.benshu.jswizzle.Swizzle;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Orders the mix by its {@link Key keys}. The mixin extends {@link Comparable}, implements {@code compareTo} and
+ * declares a static {@code compare} as well as a {@code COMPARATOR} constant.
+ * <p>
+ * Constants are inherited, so {@code COMPARATOR} is reachable as {@code X.COMPARATOR} wherever the mix is. Static
+ * interface methods aren't, and the mixin is package-private, so {@code compare} is reachable as
+ * {@code XMixin.compare} within the mix's package only.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+@Swizzle(computer = OrderedComputer.class)
+public @interface Ordered {
+    @Retention(RetentionPolicy.SOURCE)
+    /**
+     * Marks a property, i.e. a field or getter, as a key. Keys must be neither private nor static.
+     */
+    @Target({ElementType.FIELD, ElementType.METHOD})
+    public @interface Key {
+        /**
+         * Keys are compared by ascending priority; keys of equal priority in declaration order.
+         */
+        int priority() default 0;
+
+        Direction direction() default Direction.ASCENDING;
+
+        /**
+         * Where {@code null} values go, regardless of the direction. Ignored for primitive keys.
+         */
+        Nulls nulls() default Nulls.FIRST;
+    }
+
+    enum Direction {
+        ASCENDING,
+        DESCENDING
+    }
+
+    enum Nulls {
+        FIRST,
+        LAST
+    }
+}
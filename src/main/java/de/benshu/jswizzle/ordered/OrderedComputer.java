@@ -0,0 +1,312 @@
+package de.benshu.jswizzle.ordered;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import de.benshu.jswizzle.MixinComputer;
+import de.benshu.jswizzle.copyable.CopyableComputer;
+import de.benshu.jswizzle.internal.Statistics;
+import de.benshu.jswizzle.internal.SwizzleMixin;
+import de.benshu.jswizzle.internal.Template;
+import de.benshu.jswizzle.model.FullyQualifiedName;
+import de.benshu.jswizzle.model.Identifier;
+import de.benshu.jswizzle.model.ImportTable;
+import de.benshu.jswizzle.model.MethodDeclaration;
+import de.benshu.jswizzle.model.MixinComponent;
+import de.benshu.jswizzle.model.Reflection;
+import de.benshu.jswizzle.model.Type;
+import de.benshu.jswizzle.model.TypeDeclaration;
+import org.kohsuke.MetaInfServices;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static de.benshu.commons.core.streams.Collectors.list;
+import static java.util.stream.Collectors.joining;
+
+@MetaInfServices(OrderedComputer.class)
+public class OrderedComputer extends MixinComputer {
+    private static final FullyQualifiedName COMPARATOR = FullyQualifiedName.of(Comparator.class.getName());
+
+    @Override
+    public MixinComponent computeFor(Reflection reflection, Element e) {
+        final Types types = reflection.getProcessingEnvironment().getTypeUtils();
+        final Elements elements = reflection.getProcessingEnvironment().getElementUtils();
+        final Messager messager = reflection.getProcessingEnvironment().getMessager();
+
+        final TypeDeclaration mix = reflection.of((TypeElement) e);
+        final ImmutableList<Key> keys = CopyableComputer.discoverProperties(mix)
+                .flatMap(p -> toKey(reflection, p))
+                .sorted(Comparator.comparing(Key::getPriority))
+                .collect(list());
+        e.getEnclosedElements().stream()
+                .filter(m -> m.getAnnotation(Ordered.Key.class) != null)
+                .filter(m -> m.getModifiers().contains(Modifier.PRIVATE) || m.getModifiers().contains(Modifier.STATIC))
+                .forEach(m -> messager.printMessage(Diagnostic.Kind.ERROR, "@Ordered.Key can't be applied to private or static members.", m));
+        mix.declaredMemberDeclarations()
+                .filter(m -> m.getKind() == ElementKind.METHOD && !((MethodDeclaration) m).isGetter())
+                .filter(m -> m.getMirror().getAnnotation(Ordered.Key.class) != null)
+                .forEach(m -> messager.printMessage(Diagnostic.Kind.ERROR, "@Ordered.Key can only be applied to fields and getters.", m.getMirror()));
+
+        final TypeElement comparableElement = elements.getTypeElement(Comparable.class.getName());
+        final boolean alreadyComparable = mix.supertypes()
+                .filter(s -> !isMixin(s))
+                .anyMatch(s -> isOrderedOrComparable(s, comparableElement));
+        if (alreadyComparable)
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    "@Ordered can't be applied to mixes with comparable supertypes, such as other @Ordered mixes.", e);
+
+        final ImmutableList<Type> superinterfaces = alreadyComparable ? ImmutableList.of()
+                : ImmutableList.of(reflection.of(types.getDeclaredType(comparableElement, mix.asType().getMirror())));
+        final FullyQualifiedName qualifiedName = mix.getQualifiedName();
+        final String wildcards = mix.getTypeParameters().isEmpty() ? ""
+                : mix.getTypeParameters().stream().map(p -> "?").collect(joining(", ", "<", ">"));
+
+        final Template.Engine engine = Template.Engine.selectedIn(reflection.getProcessingEnvironment());
+        final Statistics statistics = reflection.getStatistics();
+
+        return new MixinComponent() {
+            @Override
+            public TypeDeclaration getMix() {
+                return mix;
+            }
+
+            @Override
+            public ImmutableList<Type> getSuperinterfaces() {
+                return superinterfaces;
+            }
+
+            @Override
+            public void allocateNames(ImportTable imports) {
+                imports.nameOf(mix.asType());
+                imports.nameOf(qualifiedName);
+                imports.nameOf(COMPARATOR);
+                keys.forEach(k -> k.allocateNames(imports));
+            }
+
+            @Override
+            public void writeBody(Appendable out, ImportTable imports) throws IOException {
+                final long start = statistics.startTimer();
+                final String mixType = imports.nameOf(mix.asType());
+                final String operandType = imports.nameOf(qualifiedName) + wildcards;
+                final String comparatorType = imports.nameOf(COMPARATOR);
+                final ImmutableList<Comparison> comparisons = keys.stream().map(k -> k.comparisonFor(imports)).collect(list());
+
+                if (engine == Template.Engine.FREEMARKER)
+                    Template.render("ordered.java.template", ImmutableMap.of(
+                            "mixType", mixType,
+                            "operandType", operandType,
+                            "comparatorType", comparatorType,
+                            "comparisons", comparisons
+                    ), out);
+                else
+                    OrderedEmitter.emit(out, mixType, operandType, comparatorType, comparisons);
+
+                statistics.templateRendered("ordered.java.template", start);
+            }
+        };
+    }
+
+    private Stream<Key> toKey(Reflection reflection, CopyableComputer.Property property) {
+        final Optional<Ordered.Key> key = property.getMember().map(m -> m.getAnnotation(Ordered.Key.class));
+        return key.map(k -> Stream.of(toKey(reflection, k, property.getName(), property.getType(), property.getAccessor())))
+                .orElse(Stream.empty());
+    }
+
+    private Key toKey(Reflection reflection, Ordered.Key key, Identifier name, Type type, String accessor) {
+        final TypeMirror mirror = type.getMirror();
+        final Optional<FullyQualifiedName> wrapper = mirror.getKind().isPrimitive()
+                ? Optional.of(FullyQualifiedName.of(reflection.getProcessingEnvironment().getTypeUtils().boxedClass((PrimitiveType) mirror)))
+                : Optional.empty();
+
+        return new Key(name, type, accessor, wrapper, wrapper.isPresent() || isComparable(reflection, mirror), key);
+    }
+
+    /**
+     * The mix's own mixin is either yet to be generated or was generated by an earlier compilation.
+     */
+    private static boolean isMixin(TypeDeclaration supertype) {
+        return supertype.getMirror().asType().getKind() == TypeKind.ERROR || supertype.isAnnotatedWith(SwizzleMixin.class);
+    }
+
+    /**
+     * A mixin can't extend {@code Comparable<Mix>} if the mix is comparable to another type already. Supertypes which
+     * are {@code @Ordered} themselves count as comparable, since their mixins may not have been generated yet.
+     */
+    private static boolean isOrderedOrComparable(TypeDeclaration type, TypeElement comparable) {
+        if (type.getMirror().asType().getKind() == TypeKind.ERROR)
+            return false;
+
+        return type.getMirror().equals(comparable)
+                || type.isAnnotatedWith(Ordered.class)
+                || type.supertypes().anyMatch(s -> isOrderedOrComparable(s, comparable));
+    }
+
+    /**
+     * Reference keys are compared through {@link Comparable#compareTo}, which the static {@code compare} can only do
+     * if the type is comparable to itself and doesn't depend on the mix's type parameters.
+     */
+    private static boolean isComparable(Reflection reflection, TypeMirror type) {
+        if (type.getKind() == TypeKind.ERROR)
+            return true;
+        if (mentionsTypeVariables(type))
+            return false;
+
+        final Types types = reflection.getProcessingEnvironment().getTypeUtils();
+        final TypeElement comparable = reflection.getProcessingEnvironment().getElementUtils().getTypeElement(Comparable.class.getName());
+        return types.isAssignable(type, types.getDeclaredType(comparable, types.getWildcardType(null, type)));
+    }
+
+    private static boolean mentionsTypeVariables(TypeMirror type) {
+        switch (type.getKind()) {
+            case TYPEVAR:
+                return true;
+            case ARRAY:
+                return mentionsTypeVariables(((ArrayType) type).getComponentType());
+            case DECLARED:
+                return ((DeclaredType) type).getTypeArguments().stream().anyMatch(OrderedComputer::mentionsTypeVariables);
+            case WILDCARD:
+                final WildcardType wildcard = (WildcardType) type;
+                return wildcard.getExtendsBound() != null && mentionsTypeVariables(wildcard.getExtendsBound())
+                        || wildcard.getSuperBound() != null && mentionsTypeVariables(wildcard.getSuperBound());
+            default:
+                return false;
+        }
+    }
+
+    static class Key {
+        private final Identifier name;
+        private final Type type;
+        private final String accessor;
+        private final Optional<FullyQualifiedName> wrapper;
+        private final boolean comparable;
+        private final int priority;
+        private final Ordered.Direction direction;
+        private final Ordered.Nulls nulls;
+
+        Key(Identifier name, Type type, String accessor, Optional<FullyQualifiedName> wrapper, boolean comparable, Ordered.Key key) {
+            this.name = name;
+            this.type = type;
+            this.accessor = accessor;
+            this.wrapper = wrapper;
+            this.comparable = comparable;
+            this.priority = key.priority();
+            this.direction = key.direction();
+            this.nulls = key.nulls();
+        }
+
+        int getPriority() {
+            return priority;
+        }
+
+        void allocateNames(ImportTable imports) {
+            imports.nameOf(type);
+            wrapper.ifPresent(imports::nameOf);
+        }
+
+        /**
+         * Primitive keys are compared by the static {@code compare} of their wrapper, so they aren't boxed. Keys which
+         * aren't comparable are compared by an undefined identifier, so that the generated source fails to compile
+         * with a telling message.
+         */
+        Comparison comparisonFor(ImportTable imports) {
+            final String left = "a." + accessor;
+            final String right = "b." + accessor;
+            final boolean descending = direction == Ordered.Direction.DESCENDING;
+
+            if (!comparable)
+                return Comparison.inline("NOT_COMPARABLE_" + name.getScreamingSnakeCased());
+            else if (wrapper.isPresent())
+                return Comparison.inline(imports.nameOf(wrapper.get()) + ".compare(" + (descending ? right + ", " + left : left + ", " + right) + ")");
+
+            final String leftLocal = "left" + name.getPascalCased();
+            final String rightLocal = "right" + name.getPascalCased();
+            final String expression = descending ? rightLocal + ".compareTo(" + leftLocal + ")" : leftLocal + ".compareTo(" + rightLocal + ")";
+            return Comparison.nullable(imports.nameOf(type), leftLocal, left, rightLocal, right, nulls == Ordered.Nulls.FIRST ? -1 : 1, expression);
+        }
+    }
+
+    /**
+     * How the static {@code compare} compares a key: either by a single expression, or, for references which may be
+     * {@code null}, through two locals holding the values.
+     */
+    public static class Comparison {
+        static Comparison inline(String expression) {
+            return new Comparison(false, null, null, null, null, null, 0, expression);
+        }
+
+        static Comparison nullable(String type, String left, String leftValue, String right, String rightValue, int leftNullResult, String expression) {
+            return new Comparison(true, type, left, leftValue, right, rightValue, leftNullResult, expression);
+        }
+
+        private final boolean nullable;
+        private final String type;
+        private final String left;
+        private final String leftValue;
+        private final String right;
+        private final String rightValue;
+        private final int leftNullResult;
+        private final String expression;
+
+        private Comparison(boolean nullable, String type, String left, String leftValue, String right, String rightValue, int leftNullResult, String expression) {
+            this.nullable = nullable;
+            this.type = type;
+            this.left = left;
+            this.leftValue = leftValue;
+            this.right = right;
+            this.rightValue = rightValue;
+            this.leftNullResult = leftNullResult;
+            this.expression = expression;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getLeft() {
+            return left;
+        }
+
+        public String getLeftValue() {
+            return leftValue;
+        }
+
+        public String getRight() {
+            return right;
+        }
+
+        public String getRightValue() {
+            return rightValue;
+        }
+
+        /**
+         * @return what {@code compare} returns if only the left value is {@code null}
+         */
+        public int getLeftNullResult() {
+            return leftNullResult;
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package de.benshu.jswizzle.ordered;
+
+import java.io.IOException;
+
+/**
+ * Compiled form of {@code ordered.java.template}.
+ */
+final class OrderedEmitter {
+    private OrderedEmitter() {}
+
+    static void emit(Appendable out, String mixType, String operandType, String comparatorType,
+                     Iterable<OrderedComputer.Comparison> comparisons) throws IOException {
+        out.append("\n    ").append(comparatorType).append('<').append(operandType).append("> COMPARATOR = (a, b) -> compare(a, b);\n");
+
+        out.append("\n    static int compare(").append(operandType).append(" a, ").append(operandType).append(" b) {\n");
+        if (comparisons.iterator().hasNext())
+            out.append("        int result;\n");
+
+        for (OrderedComputer.Comparison comparison : comparisons) {
+            out.append('\n');
+            if (comparison.isNullable()) {
+                final String left = comparison.getLeft();
+                final String right = comparison.getRight();
+
+                out.append("        final ").append(comparison.getType()).append(' ').append(left).append(" = ").append(comparison.getLeftValue()).append(";\n");
+                out.append("        final ").append(comparison.getType()).append(' ').append(right).append(" = ").append(comparison.getRightValue()).append(";\n");
+                out.append("        if (").append(left).append(" != ").append(right).append(") {\n");
+                out.append("            if (").append(left).append(" == null)\n");
+                out.append("                return ").append(String.valueOf(comparison.getLeftNullResult())).append(";\n");
+                out.append("            if (").append(right).append(" == null)\n");
+                out.append("                return ").append(String.valueOf(-comparison.getLeftNullResult())).append(";\n");
+                out.append("            result = ").append(comparison.getExpression()).append(";\n");
+                out.append("            if (result != 0)\n");
+                out.append("                return result;\n");
+                out.append("        }\n");
+            } else {
+                out.append("        result = ").append(comparison.getExpression()).append(";\n");
+                out.append("        if (result != 0)\n");
+                out.append("            return result;\n");
+            }
+        }
+
+        out.append("\n        return 0;\n");
+        out.append("    }\n");
+
+        out.append("\n    default int compareTo(").append(mixType).append(" other) {\n");
+        out.append("        return compare((").append(mixType).append(") this, other);\n");
+        out.append("    }\n");
+    }
+}
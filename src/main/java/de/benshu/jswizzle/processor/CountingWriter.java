@@ -0,0 +1,49 @@
+package de.benshu.jswizzle.processor;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Counts the number of bytes the written characters take up in UTF-8.
+ */
+final class CountingWriter extends FilterWriter {
+    private long count;
+
+    CountingWriter(Writer out) {
+        super(out);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        super.write(c);
+        count += utf8Length((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        super.write(cbuf, off, len);
+        for (int i = off; i < off + len; ++i)
+            count += utf8Length(cbuf[i]);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        super.write(str, off, len);
+        for (int i = off; i < off + len; ++i)
+            count += utf8Length(str.charAt(i));
+    }
+
+    private static int utf8Length(char c) {
+        if (c < 0x80)
+            return 1;
+        else if (c < 0x800 || Character.isSurrogate(c))
+            return 2; // a surrogate pair takes up four bytes
+        else
+            return 3;
+    }
+}
@@ -0,0 +1,57 @@
+package de.benshu.jswizzle.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Refers to a type or field by name, so that it can be looked up again in a later round. Elements must not be held on
+ * to across rounds.
+ */
+final class ElementHandle {
+    static Optional<ElementHandle> of(Element element) {
+        if (element instanceof TypeElement)
+            return Optional.of(new ElementHandle(((TypeElement) element).getQualifiedName().toString(), null));
+        else if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement)
+            return Optional.of(new ElementHandle(((TypeElement) element.getEnclosingElement()).getQualifiedName().toString(),
+                    element.getSimpleName().toString()));
+        else
+            return Optional.empty();
+    }
+
+    private final String type;
+    private final String field;
+
+    private ElementHandle(String type, String field) {
+        this.type = type;
+        this.field = field;
+    }
+
+    Optional<? extends Element> resolve(Elements elements) {
+        final Optional<TypeElement> typeElement = Optional.ofNullable(elements.getTypeElement(type));
+
+        return field == null
+                ? typeElement
+                : typeElement.flatMap(t -> t.getEnclosedElements().stream()
+                .filter(e -> e.getKind() == ElementKind.FIELD && e.getSimpleName().contentEquals(field))
+                .findFirst());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof ElementHandle && ((ElementHandle) obj).type.equals(type) && Objects.equals(((ElementHandle) obj).field, field);
+    }
+
+    @Override
+    public int hashCode() {
+        return type.hashCode() * 31 + Objects.hashCode(field);
+    }
+
+    @Override
+    public String toString() {
+        return field == null ? type : type + "#" + field;
+    }
+}
@@ -0,0 +1,86 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.hash.Hashing;
+
+import javax.annotation.processing.Filer;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fingerprints of the mixins generated by the previous and the current compilation. A fingerprint is a hash of the
+ * processor version and the rendered mixin. The index is kept in the class output, so that it is discarded along with
+ * the compiled classes on a clean build.
+ */
+final class FingerprintIndex {
+    private static final String RESOURCE = "META-INF/jswizzle/fingerprints.properties";
+
+    private final Filer filer;
+    private final String processorVersion;
+    private final Map<String, String> fingerprints = new TreeMap<>();
+    private Map<String, String> previousFingerprints;
+
+    FingerprintIndex(Filer filer) {
+        this.filer = filer;
+
+        final String implementationVersion = FingerprintIndex.class.getPackage().getImplementationVersion();
+        this.processorVersion = implementationVersion == null ? "unknown" : implementationVersion;
+    }
+
+    String fingerprintOf(CharSequence source) {
+        return Hashing.sha256().newHasher()
+                .putUnencodedChars(processorVersion)
+                .putUnencodedChars(source)
+                .hash().toString();
+    }
+
+    /**
+     * Records the fingerprint of the given mixin.
+     *
+     * @return whether the previous compilation generated the same mixin
+     */
+    boolean record(String qualifiedName, String fingerprint) throws IOException {
+        fingerprints.put(qualifiedName, fingerprint);
+        return fingerprint.equals(previousFingerprints().get(qualifiedName));
+    }
+
+    /**
+     * Writes the fingerprints of the mixins generated by the current compilation. Those of mixins it didn't generate
+     * are dropped, since their sources may be gone.
+     */
+    void write() throws IOException {
+        try (Writer w = filer.createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE).openWriter()) {
+            for (Map.Entry<String, String> e : fingerprints.entrySet())
+                w.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+        }
+    }
+
+    private Map<String, String> previousFingerprints() throws IOException {
+        if (previousFingerprints == null) {
+            previousFingerprints = new TreeMap<>();
+
+            final FileObject resource;
+            try {
+                resource = filer.getResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE);
+            } catch (IOException | IllegalArgumentException e) {
+                return previousFingerprints;
+            }
+
+            try (Reader r = resource.openReader(true); BufferedReader lines = new BufferedReader(r)) {
+                for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+                    final int separator = line.indexOf('=');
+                    if (separator > 0)
+                        previousFingerprints.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            } catch (IOException e) {
+                // no previous compilation or an unreadable index, either way there is nothing to compare against
+            }
+        }
+        return previousFingerprints;
+    }
+}
@@ -0,0 +1,60 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.collect.ImmutableList;
+import de.benshu.jswizzle.bytecode.Bytecode;
+import de.benshu.jswizzle.bytecode.BytecodeComponent;
+import de.benshu.jswizzle.internal.SwizzleMixin;
+import de.benshu.jswizzle.model.Mixin;
+import de.benshu.jswizzle.model.MixinComponent;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import java.util.Optional;
+
+import static de.benshu.commons.core.streams.Collectors.list;
+
+/**
+ * Writes mixins as class files for {@code -Ajswizzle.output=bytecode}. The class file declares the same interface the
+ * source form would, so javac resolves the mix against it in the next round just as it would against the compiled
+ * source.
+ */
+final class MixinClassWriter {
+    private static final String SWIZZLE_MIXIN = Type.getDescriptor(SwizzleMixin.class);
+
+    private MixinClassWriter() {}
+
+    /**
+     * @return the class file of the given mixin, or empty if it can only be generated as source
+     */
+    static Optional<byte[]> write(Bytecode bytecode, Mixin mixin, String qualifiedName, ImmutableList<TypeMirror> superMixins) {
+        final ImmutableList<TypeParameterElement> typeParameters = mixin.getReference().getTypeArguments().stream()
+                .map(a -> (TypeParameterElement) ((TypeVariable) a).asElement())
+                .collect(list());
+
+        final boolean expressible = superMixins.stream().allMatch(bytecode::isResolved)
+                && typeParameters.stream().flatMap(p -> p.getBounds().stream()).allMatch(bytecode::isResolved)
+                && mixin.getComponents().stream().allMatch(c -> isWritable(c, bytecode));
+        if (!expressible)
+            return Optional.empty();
+
+        final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_ABSTRACT | Opcodes.ACC_INTERFACE, qualifiedName.replace('.', '/'),
+                bytecode.interfaceSignatureOf(typeParameters, superMixins), "java/lang/Object",
+                superMixins.stream().map(bytecode::internalNameOf).toArray(String[]::new));
+        classWriter.visitAnnotation(SWIZZLE_MIXIN, false).visitEnd();
+
+        for (MixinComponent component : mixin.getComponents())
+            ((BytecodeComponent) component).writeMembers(classWriter, bytecode);
+
+        classWriter.visitEnd();
+        return Optional.of(classWriter.toByteArray());
+    }
+
+    private static boolean isWritable(MixinComponent component, Bytecode bytecode) {
+        return component instanceof BytecodeComponent && ((BytecodeComponent) component).canWriteMembers(bytecode);
+    }
+}
@@ -0,0 +1,90 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterables;
+import de.benshu.jswizzle.MixinComputer;
+import de.benshu.jswizzle.Swizzle;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.util.Elements;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+/**
+ * Resolves swizzle annotations to the {@link MixinComputer}s responsible for them. Lives as long as the processor, so
+ * that each annotation is resolved and each computer is loaded only once per compilation.
+ * <p>
+ * Annotations are inspected through their mirrors, i.e. annotation types need not be loadable by the processor. That
+ * includes annotation types which are compiled along with the code that uses them.
+ */
+final class MixinComputerRegistry {
+    private static final String SWIZZLE = Swizzle.class.getCanonicalName();
+
+    private final Elements elements;
+    private final Map<String, Optional<MixinComputer>> computersByAnnotation = new HashMap<>();
+    private final Map<String, MixinComputer> computersByName = new HashMap<>();
+
+    MixinComputerRegistry(Elements elements) {
+        this.elements = elements;
+    }
+
+    Optional<MixinComputer> computerFor(TypeElement annotation) {
+        final String annotationName = annotation.getQualifiedName().toString();
+
+        Optional<MixinComputer> computer = computersByAnnotation.get(annotationName);
+        if (computer == null) {
+            computer = findComputerClassName(annotation).map(this::computerNamed);
+            computersByAnnotation.put(annotationName, computer);
+        }
+        return computer;
+    }
+
+    /**
+     * @return whether the given annotation is meta-annotated with {@link Swizzle}, without loading its computer
+     */
+    boolean isSwizzleAnnotation(TypeElement annotation) {
+        return findComputerClassName(annotation).isPresent();
+    }
+
+    void roundFinished() {
+        computersByName.values().forEach(MixinComputer::roundFinished);
+    }
+
+    private Optional<String> findComputerClassName(TypeElement annotation) {
+        for (AnnotationMirror mirror : annotation.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotationType.getQualifiedName().contentEquals(SWIZZLE))
+                continue;
+
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : mirror.getElementValues().entrySet()) {
+                if (e.getKey().getSimpleName().contentEquals("computer")) {
+                    final TypeElement computer = (TypeElement) ((DeclaredType) e.getValue().getValue()).asElement();
+                    return Optional.of(elements.getBinaryName(computer).toString());
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private MixinComputer computerNamed(String className) {
+        return computersByName.computeIfAbsent(className, this::loadComputer);
+    }
+
+    private MixinComputer loadComputer(String className) {
+        try {
+            final ClassLoader classLoader = MixinComputerRegistry.class.getClassLoader();
+            final Class<? extends MixinComputer> computerClass = Class.forName(className, true, classLoader).asSubclass(MixinComputer.class);
+
+            return Iterables.getOnlyElement(ServiceLoader.load(computerClass, computerClass.getClassLoader()));
+        } catch (ClassNotFoundException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.benshu.jswizzle.processor;
+
+import de.benshu.jswizzle.model.Identifier;
+import de.benshu.jswizzle.model.ImportTable;
+import de.benshu.jswizzle.model.MixinComponent;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Compiled form of {@code mixin.java.template}.
+ */
+final class MixinEmitter {
+    private MixinEmitter() {}
+
+    static void emit(Appendable out, String pakkage, ImportTable imports, Identifier name, String typeParameters,
+                     Iterable<String> superMixins, Iterable<MixinComponent> components) throws IOException {
+        out.append("package ").append(pakkage).append(";\n\n");
+
+        for (String i : imports.getImports())
+            out.append("import ").append(i).append(";\n");
+
+        out.append("\n@de.benshu.jswizzle.internal.SwizzleMixin\n");
+        out.append("interface ").append(name.getPascalCased()).append(typeParameters);
+
+        final Iterator<String> superMixinIterator = superMixins.iterator();
+        if (superMixinIterator.hasNext()) {
+            out.append(" extends ").append(superMixinIterator.next());
+            while (superMixinIterator.hasNext())
+                out.append(", ").append(superMixinIterator.next());
+        }
+
+        out.append(" {\n");
+
+        for (MixinComponent component : components) {
+            out.append("    ");
+            component.writeBody(out, imports);
+            out.append("\n\n");
+        }
+
+        out.append("}\n");
+    }
+}
@@ -0,0 +1,99 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import de.benshu.jswizzle.internal.SwizzleMixin;
+import de.benshu.jswizzle.model.Type;
+import de.benshu.jswizzle.model.TypeDeclaration;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ErrorType;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static de.benshu.commons.core.streams.Collectors.list;
+import static de.benshu.commons.core.streams.Collectors.set;
+
+/**
+ * Index of mixin interfaces and of the nearest supermixins of the types in a round. Each type is inspected once, no
+ * matter how many mixes share it as a supertype.
+ * <p>
+ * Like {@link de.benshu.jswizzle.model.Reflection}, which it relies on to hand out the same declarations for the same
+ * types, a hierarchy is scoped to a round and not thread-safe.
+ */
+final class MixinHierarchy {
+    private final Map<TypeElement, Boolean> mixinCandidates = new HashMap<>();
+    private final Map<TypeDeclaration, ImmutableList<TypeDeclaration>> candidateInterfaces = new HashMap<>();
+    private final Map<TypeDeclaration, ImmutableSet<Type>> supermixins = new HashMap<>();
+
+    /**
+     * A mixin candidate is an interface which is either generated by us, i.e. does not exist yet, or was generated by
+     * us in an earlier compilation.
+     */
+    boolean isMixinCandidate(TypeDeclaration iface) {
+        final TypeElement element = iface.getMirror();
+
+        Boolean candidate = mixinCandidates.get(element);
+        if (candidate == null) {
+            candidate = element.asType() instanceof ErrorType || iface.isAnnotatedWith(SwizzleMixin.class);
+            mixinCandidates.put(element, candidate);
+        }
+        return candidate;
+    }
+
+    /**
+     * @return the mixin interface of the given mix, unless it has none or several candidates
+     */
+    Optional<TypeDeclaration> mixinOf(TypeDeclaration mix) {
+        final ImmutableList<TypeDeclaration> candidates = candidateInterfacesOf(mix);
+        return candidates.size() == 1 ? Optional.of(candidates.get(0)) : Optional.empty();
+    }
+
+    /**
+     * @return whether the given mix's mixin is ambiguous, because several of its interfaces are unresolved or mixins
+     */
+    boolean isAmbiguous(TypeDeclaration mix) {
+        return candidateInterfacesOf(mix).size() > 1;
+    }
+
+    /**
+     * @return the nearest mixins implemented by the given mix's supertypes
+     */
+    ImmutableSet<Type> supermixinsOf(TypeDeclaration mix) {
+        ImmutableSet<Type> result = supermixins.get(mix);
+        if (result == null) {
+            result = mix.supertypes()
+                    .flatMap(s -> nearestMixinsOf(s).stream())
+                    .collect(set());
+            supermixins.put(mix, result);
+        }
+        return result;
+    }
+
+    /**
+     * Drops what is known about the given mix itself. Its supertypes remain indexed for other mixes to share.
+     */
+    void forget(TypeDeclaration mix) {
+        candidateInterfaces.remove(mix);
+        supermixins.remove(mix);
+    }
+
+    private ImmutableSet<Type> nearestMixinsOf(TypeDeclaration type) {
+        final ImmutableList<TypeDeclaration> candidates = candidateInterfacesOf(type);
+        return candidates.isEmpty()
+                ? supermixinsOf(type)
+                : ImmutableSet.of(candidates.get(0).asType());
+    }
+
+    private ImmutableList<TypeDeclaration> candidateInterfacesOf(TypeDeclaration type) {
+        ImmutableList<TypeDeclaration> candidates = candidateInterfaces.get(type);
+        if (candidates == null) {
+            candidates = type.interfaces()
+                    .filter(this::isMixinCandidate)
+                    .collect(list());
+            candidateInterfaces.put(type, candidates);
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,80 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import de.benshu.jswizzle.internal.Template;
+import de.benshu.jswizzle.model.Identifier;
+import de.benshu.jswizzle.model.ImportTable;
+import de.benshu.jswizzle.model.MixinComponent;
+
+import javax.lang.model.element.Element;
+import java.io.IOException;
+import java.util.Optional;
+
+import static de.benshu.commons.core.streams.Collectors.list;
+
+/**
+ * Everything needed to render a mixin, extracted from javac's element model on the processor thread. Rendering a
+ * snapshot does not touch the element model, so it may happen on any thread.
+ */
+final class MixinSnapshot {
+    private final Template.Engine engine;
+    private final Element originatingElement;
+    private final String pakkage;
+    private final ImportTable imports;
+    private final Identifier name;
+    private final String typeParameters;
+    private final ImmutableList<String> superMixins;
+    private final ImmutableSet<MixinComponent> components;
+    private final Optional<byte[]> classFile;
+
+    MixinSnapshot(Template.Engine engine, Element originatingElement, String pakkage, ImportTable imports, Identifier name,
+                  String typeParameters, ImmutableList<String> superMixins, ImmutableSet<MixinComponent> components,
+                  Optional<byte[]> classFile) {
+        this.engine = engine;
+        this.originatingElement = originatingElement;
+        this.pakkage = pakkage;
+        this.imports = imports;
+        this.name = name;
+        this.typeParameters = typeParameters;
+        this.superMixins = superMixins;
+        this.components = components;
+        this.classFile = classFile;
+    }
+
+    String getQualifiedName() {
+        return pakkage + "." + name.getPascalCased();
+    }
+
+    ImportTable getImports() {
+        return imports;
+    }
+
+    Element getOriginatingElement() {
+        return originatingElement;
+    }
+
+    /**
+     * @return the mixin in its compiled form, if it is to be written as a class file rather than as source
+     */
+    Optional<byte[]> getClassFile() {
+        return classFile;
+    }
+
+    void writeTo(Appendable out) throws IOException {
+        if (engine == Template.Engine.FREEMARKER)
+            Template.render("mixin.java.template", ImmutableMap.<String, Object>builder()
+                            .put("package", pakkage)
+                            .put("imports", imports.getImports())
+                            .put("name", name)
+                            .put("typeParameters", typeParameters)
+                            .put("components", components.stream().map(c -> c.getBody(imports)).collect(list()))
+                            .put("superMixins", superMixins)
+                            .build(),
+                    out
+            );
+        else
+            MixinEmitter.emit(out, pakkage, imports, name, typeParameters, superMixins, components);
+    }
+}
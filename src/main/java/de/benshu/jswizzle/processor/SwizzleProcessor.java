@@ -4,84 +4,240 @@
 package de.benshu.jswizzle.processor;
 
 import com.google.common.base.CaseFormat;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
 import de.benshu.jswizzle.MixinComputer;
 import de.benshu.jswizzle.Swizzle;
-import de.benshu.jswizzle.internal.SwizzleMixin;
+import de.benshu.jswizzle.binary.Binary;
+import de.benshu.jswizzle.bytecode.Bytecode;
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+import de.benshu.jswizzle.internal.Statistics;
 import de.benshu.jswizzle.internal.Template;
-import de.benshu.jswizzle.model.AsJavaSourceOptions;
 import de.benshu.jswizzle.model.Identifier;
-import de.benshu.jswizzle.model.Import;
+import de.benshu.jswizzle.model.ImportTable;
 import de.benshu.jswizzle.model.Mixin;
 import de.benshu.jswizzle.model.MixinComponent;
 import de.benshu.jswizzle.model.Reflection;
 import de.benshu.jswizzle.model.Type;
 import de.benshu.jswizzle.model.TypeDeclaration;
 import de.benshu.jswizzle.model.TypeParameters;
+import de.benshu.jswizzle.ordered.Ordered;
 import org.kohsuke.MetaInfServices;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
-import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
-import javax.lang.model.type.ErrorType;
-import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.Elements;
 import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Stream;
 
+import static com.google.common.collect.Maps.immutableEntry;
 import static de.benshu.commons.core.streams.Collectors.list;
 import static de.benshu.commons.core.streams.Collectors.set;
 import static de.benshu.commons.core.streams.Collectors.setMultimap;
 
 @MetaInfServices(Processor.class)
-@SupportedAnnotationTypes("*")
+@SupportedOptions({SwizzleProcessor.ANNOTATIONS_OPTION, SwizzleProcessor.PARALLELISM_OPTION, SwizzleProcessor.STATISTICS_OPTION,
+        SwizzleProcessor.FINGERPRINTS_OPTION, SwizzleProcessor.OUTPUT_OPTION, Template.ENGINE_OPTION})
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 public class SwizzleProcessor extends AbstractProcessor {
+    /**
+     * Comma separated list of additional {@link Swizzle}-annotated annotation types to process. If given, even without
+     * a value, the processor claims only the built-in annotations and the listed ones, and registers as an isolating
+     * incremental annotation processor with Gradle. Otherwise, or given {@code *}, it looks at every annotation, which
+     * disables incremental annotation processing in Gradle.
+     */
+    public static final String ANNOTATIONS_OPTION = "jswizzle.annotations";
+
+    /**
+     * Number of threads to render mixins on. Defaults to one, which renders each mixin straight into its source file.
+     * Mixins are computed on the processor thread regardless, since javac's element model isn't thread-safe.
+     */
+    public static final String PARALLELISM_OPTION = "jswizzle.parallelism";
+
+    /**
+     * Set to {@code json} to have the processor write performance figures to {@value #STATISTICS_RESOURCE} in the
+     * class output. Ignored along with {@link #ANNOTATIONS_OPTION}.
+     */
+    public static final String STATISTICS_OPTION = "jswizzle.stats";
+
+    /**
+     * Set to {@code true} to skip writing mixins which are identical to the ones generated by the previous compilation
+     * and whose sources are among the inputs of this one, e.g. because the build compiles the generated sources
+     * directory. Not for use with Gradle, whose incremental compilation already takes care of this. Ignored along with
+     * {@link #ANNOTATIONS_OPTION}.
+     */
+    public static final String FINGERPRINTS_OPTION = "jswizzle.fingerprints";
+
+    /**
+     * Set to {@code bytecode} to write mixins straight to the class output as class files, instead of writing sources
+     * for javac to compile. Mixins which cannot be expressed that way, e.g. because they refer to types which are not
+     * resolved yet, are still written as sources. Fingerprints only cover mixins written as sources. Requires javac 9 or
+     * later: javac 8 doesn't see class files created during the compilation, so mixins are written as sources there.
+     */
+    public static final String OUTPUT_OPTION = "jswizzle.output";
+
+    private static final String STATISTICS_RESOURCE = "META-INF/jswizzle/stats.json";
+
+    /**
+     * The option by which processors registered as {@code dynamic} tell Gradle that they are isolating.
+     */
+    private static final String GRADLE_ISOLATING = "org.gradle.annotation.processing.isolating";
+
+    private static final ImmutableSet<String> BUILTIN_ANNOTATIONS = ImmutableSet.of(
+            Binary.class.getCanonicalName(),
+            Copyable.class.getCanonicalName(),
+            Data.class.getCanonicalName(),
+            Ordered.class.getCanonicalName()
+    );
+
+    private MixinComputerRegistry computers;
+    private Statistics statistics;
+    private FingerprintIndex fingerprints;
+    private Bytecode bytecode;
+    private int round;
+
+    /**
+     * Qualified names of the mixes whose mixins have been generated.
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    /**
+     * Elements to retry in the next round, by the qualified names of their annotations.
+     */
+    private final SetMultimap<String, ElementHandle> deferred = LinkedHashMultimap.create();
+
+    /**
+     * Qualified names of the top level types javac has been given to compile so far, if fingerprints are enabled.
+     */
+    private final Set<String> inputTypes = new HashSet<>();
+
+    /**
+     * Qualified names of the unclaimed annotations which have been checked for being {@link Swizzle} annotations.
+     */
+    private final Set<String> unclaimedAnnotations = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        computers = new MixinComputerRegistry(processingEnv.getElementUtils());
+        statistics = "json".equals(processingEnv.getOptions().get(STATISTICS_OPTION)) && !isolates(STATISTICS_OPTION)
+                ? Statistics.recording()
+                : Statistics.none();
+        fingerprints = Boolean.parseBoolean(processingEnv.getOptions().get(FINGERPRINTS_OPTION)) && !isolates(FINGERPRINTS_OPTION)
+                ? new FingerprintIndex(processingEnv.getFiler())
+                : null;
+        bytecode = "bytecode".equals(processingEnv.getOptions().get(OUTPUT_OPTION)) && seesGeneratedClassFiles() ? new Bytecode(processingEnv) : null;
+    }
+
+    /**
+     * Whether javac resolves types against class files created during the compilation, which javac 8 doesn't. Warns if
+     * it doesn't.
+     */
+    private boolean seesGeneratedClassFiles() {
+        if (SourceVersion.latest().compareTo(SourceVersion.RELEASE_8) > 0)
+            return true;
+
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "-A" + OUTPUT_OPTION + "=bytecode requires javac 9 or later. Mixins are written as sources.");
+        return false;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        if (!claimsSelectively())
+            return ImmutableSet.of("*");
+
+        final String additionalAnnotations = Strings.nullToEmpty(processingEnv.getOptions().get(ANNOTATIONS_OPTION));
+        return ImmutableSet.<String>builder()
+                .addAll(BUILTIN_ANNOTATIONS)
+                .addAll(Splitter.on(',').trimResults().omitEmptyStrings().split(additionalAnnotations))
+                .build();
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        final Set<String> options = super.getSupportedOptions();
+        return claimsSelectively() ? ImmutableSet.<String>builder().addAll(options).add(GRADLE_ISOLATING).build() : options;
+    }
+
+    /**
+     * Whether the given option has to be ignored because the processor registers as isolating. Resources spanning all
+     * mixins, like the statistics report and the fingerprint index, have no single originating element, which Gradle
+     * demands of every file an isolating processor generates. Warns if so.
+     */
+    private boolean isolates(String option) {
+        if (!claimsSelectively())
+            return false;
+
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "-A" + option + " is ignored along with -A" + ANNOTATIONS_OPTION + ", which makes the processor isolating.");
+        return true;
+    }
+
+    /**
+     * Whether the processor only claims the annotations it knows of, which Gradle's isolating mode demands.
+     */
+    private boolean claimsSelectively() {
+        final Map<String, String> options = processingEnv.getOptions();
+        return options.containsKey(ANNOTATIONS_OPTION) && !"*".equals(Strings.nullToEmpty(options.get(ANNOTATIONS_OPTION)).trim());
+    }
+
     @Override
     public final boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        final long start = statistics.startTimer();
         try {
-            if (roundEnvironment.processingOver() || annotations.isEmpty())
-                return false;
-
-            Function<? super MixinComponent, ? extends MixinComponent> valueFunction = c -> c;
-            final ImmutableSetMultimap<TypeDeclaration, MixinComponent> mixins = annotations.stream()
-                    .filter(a -> a.getAnnotation(Swizzle.class) != null)
-                    .map(this::loadAnnotation)
-                    .flatMap(a -> compute(roundEnvironment, a))
-                    .collect(setMultimap(MixinComponent::getMix, valueFunction));
-
-            mixins.asMap().entrySet().stream().forEach(m -> {
-                final ImmutableSet<TypeDeclaration> candidates = m.getKey().interfaces()
-                        .filter(this::isMixinCandidate)
-                        .collect(set());
-
-                if (candidates.size() == 1) {
-                    final TypeDeclaration mixin = candidates.iterator().next();
-                    final Identifier name = Identifier.from(mixin.getName(), CaseFormat.UPPER_CAMEL);
-
-                    generateMixin(new Mixin((DeclaredType) mixin.asType().getMirror(), name, m.getKey(), ImmutableSet.copyOf(m.getValue())));
-                }
-            });
+            if (claimsSelectively())
+                warnAboutUnclaimedAnnotations(roundEnvironment);
+            if (fingerprints != null)
+                roundEnvironment.getRootElements().stream()
+                        .filter(e -> e instanceof TypeElement)
+                        .forEach(e -> inputTypes.add(((TypeElement) e).getQualifiedName().toString()));
+
+            final ImmutableSetMultimap<TypeElement, Map.Entry<TypeElement, Element>> elementsByMix = elementsToProcess(annotations, roundEnvironment);
+            if (!elementsByMix.isEmpty())
+                generate(elementsByMix);
+
+            if (roundEnvironment.processingOver() && statistics.isEnabled())
+                writeStatistics();
+            if (roundEnvironment.processingOver() && fingerprints != null)
+                fingerprints.write();
 
             return false;
         } catch (Exception e) {
@@ -92,106 +248,401 @@ public class SwizzleProcessor extends AbstractProcessor {
 
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, stringWriter.toString());
             return false;
+        } finally {
+            statistics.roundFinished(++round, start);
         }
     }
 
-    private boolean isMixinCandidate(TypeDeclaration iface) {
-        final TypeMirror typeMirror = iface.asType().getMirror();
-        final TypeMirror declarationTypeMirror = typeMirror instanceof DeclaredType
-                ? ((DeclaredType) typeMirror).asElement().asType()
-                : typeMirror;
+    /**
+     * Computes, renders and writes one mixin after the other, so that only the models of a few mixins are alive at any
+     * time. With a parallelism of {@code n}, batches of {@code n} mixins are rendered concurrently.
+     */
+    private void generate(ImmutableSetMultimap<TypeElement, Map.Entry<TypeElement, Element>> elementsByMix) {
+        final Reflection reflection = Reflection.reflectionFor(processingEnv, statistics);
+        final MixinHierarchy hierarchy = new MixinHierarchy();
 
-        return ErrorType.class.isInstance(declarationTypeMirror) || iface.isAnnotatedWith(SwizzleMixin.class);
-    }
+        final ImmutableSet<String> pendingMixins = elementsByMix.keySet().stream()
+                .map(reflection::of)
+                .flatMap(m -> hierarchy.mixinOf(m).map(Stream::of).orElse(Stream.empty()))
+                .map(TypeDeclaration::getName)
+                .collect(set());
 
-    private void generateMixin(Mixin mixin) {
+        final int parallelism = parallelism();
+        final ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
         try {
-            final String mixinFqn = mixin.getMix().getPackage().getQualifiedName().toString()
-                    + "." + mixin.getName().getPascalCased();
+            final List<MixinSnapshot> batch = new ArrayList<>(parallelism);
+            final List<PreparedMixin> held = new ArrayList<>();
+
+            // Javac only runs another round if this one generates sources. Files generated in the last round are not
+            // visible to the sources, so deferring is only an option once another round is certain.
+            boolean anotherRound = false;
+
+            for (Map.Entry<TypeElement, Collection<Map.Entry<TypeElement, Element>>> m : elementsByMix.asMap().entrySet()) {
+                final PreparedMixin prepared = prepare(reflection, hierarchy, m.getKey(), m.getValue(), pendingMixins);
 
-            try (Writer w = processingEnv.getFiler().createSourceFile(mixinFqn, mixin.getMix().getMirror()).openWriter()) {
-                w.write(renderMixin(mixin));
+                if (prepared.incomplete && prepared.elements.stream().allMatch(e -> ElementHandle.of(e.getValue()).isPresent())) {
+                    if (anotherRound)
+                        defer(prepared);
+                    else
+                        held.add(prepared);
+                } else if (prepared.snapshot.isPresent()) {
+                    anotherRound = true;
+                    held.forEach(this::defer);
+                    held.clear();
+
+                    enqueue(prepared, batch, pool);
+                }
             }
-        } catch (IOException e) {
-            throw Throwables.propagate(e);
+
+            // Nothing else was generated, so these are best-effort.
+            for (PreparedMixin prepared : held)
+                if (prepared.snapshot.isPresent())
+                    enqueue(prepared, batch, pool);
+
+            flush(batch, pool);
+        } finally {
+            if (pool != null)
+                pool.shutdown();
+            computers.roundFinished();
         }
     }
 
-    private String renderMixin(Mixin mixin) {
-        final Reflection reflection = Reflection.reflectionFor(processingEnv);
+    private void defer(PreparedMixin prepared) {
+        for (Map.Entry<TypeElement, Element> e : prepared.elements)
+            deferred.put(e.getKey().getQualifiedName().toString(), ElementHandle.of(e.getValue()).get());
+    }
 
-        final ImmutableList<String> typeArguments = mixin.getReference().getTypeArguments().stream()
-                .map(TypeVariable.class::cast)
-                .map(v -> v.asElement().getSimpleName().toString())
-                .collect(list());
+    private void enqueue(PreparedMixin prepared, List<MixinSnapshot> batch, ForkJoinPool pool) {
+        generated.add(prepared.mix.getQualifiedName().toString());
+        batch.add(prepared.snapshot.get());
 
-        final TypeParameters typeParameters = mixin.getMix().getTypeParameters().select(typeArguments);
-        final Stream<Import> typeBoundImports = typeParameters.referencedTypes().map(Import::of);
+        if (pool == null || batch.size() == pool.getParallelism())
+            flush(batch, pool);
+    }
 
-        final ImmutableSet<Type> supermixins = findSupermixins(mixin);
+    private void flush(List<MixinSnapshot> batch, ForkJoinPool pool) {
+        if (pool == null)
+            batch.forEach(this::generateMixin);
+        else
+            generateInParallel(pool, batch);
+        batch.clear();
+    }
 
-        final Stream<Import> allImports = Stream.of(
-                mixin.getMix().asType().referencedTypes().map(Import::of),
-                typeBoundImports,
-                supermixins.stream()
-                        .flatMap(t -> ((DeclaredType) t.getMirror()).getTypeArguments().stream().map(reflection::of))
-                        .flatMap(Type::referencedTypes)
-                        .map(Import::of),
-                mixin.getComponents().stream()
-                        .flatMap(c -> c.getRequiredImports().stream())
-        ).flatMap(s -> s);
+    /**
+     * Javac doesn't hand unclaimed annotations to the processor, so custom {@link Swizzle} annotations which aren't
+     * listed through {@value #ANNOTATIONS_OPTION} would be ignored silently. Each is reported once. Javac only runs
+     * the processor if a claimed annotation is present, though.
+     */
+    private void warnAboutUnclaimedAnnotations(RoundEnvironment roundEnvironment) {
+        final Set<String> claimed = getSupportedAnnotationTypes();
 
-        final String pakkage = mixin.getMix().getPackage().getQualifiedName().toString();
-        final Pattern redundantImport = Pattern.compile("\\A" + Pattern.quote(pakkage) + "\\.[^\\.]+\\z");
+        final List<Element> elements = new ArrayList<>(roundEnvironment.getRootElements());
+        for (int i = 0; i < elements.size(); ++i) {
+            final Element element = elements.get(i);
+            elements.addAll(element.getEnclosedElements());
+
+            for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                final TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+                final String name = annotation.getQualifiedName().toString();
+
+                if (!isClaimed(claimed, name) && unclaimedAnnotations.add(name) && computers.isSwizzleAnnotation(annotation))
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "@" + name + " is ignored, because it isn't listed in -A" + ANNOTATIONS_OPTION + ".", element, mirror);
+            }
+        }
+    }
+
+    private static boolean isClaimed(Set<String> claimed, String annotation) {
+        return claimed.contains(annotation) || claimed.stream()
+                .anyMatch(c -> c.endsWith(".*") && annotation.startsWith(c.substring(0, c.length() - 1)));
+    }
+
+    private void writeStatistics() throws IOException {
+        try (Writer w = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", STATISTICS_RESOURCE).openWriter()) {
+            statistics.writeJsonTo(w);
+        }
+    }
+
+    /**
+     * Elements annotated in this round, along with those deferred in the previous round, grouped by mix. Elements of
+     * mixes whose mixins have already been generated are left out.
+     */
+    private ImmutableSetMultimap<TypeElement, Map.Entry<TypeElement, Element>> elementsToProcess(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        final Elements elements = processingEnv.getElementUtils();
+
+        final Stream<Map.Entry<TypeElement, Element>> retried = deferred.entries().stream()
+                .flatMap(e -> e.getValue().resolve(elements)
+                        .map(element -> Stream.of(immutableEntry(elements.getTypeElement(e.getKey()), (Element) element)))
+                        .orElse(Stream.empty()));
+
+        final Stream<Map.Entry<TypeElement, Element>> annotated = annotations.stream()
+                .flatMap(a -> roundEnvironment.getElementsAnnotatedWith(a).stream().map(e -> immutableEntry(a, (Element) e)));
+
+        final ImmutableSetMultimap<TypeElement, Map.Entry<TypeElement, Element>> elementsByMix = Stream.concat(retried, annotated)
+                .flatMap(e -> computers.computerFor(e.getKey())
+                        .map(c -> Stream.of(immutableEntry(c.mixOf(e.getValue()), e)))
+                        .orElse(Stream.empty()))
+                .filter(e -> !generated.contains(e.getKey().getQualifiedName().toString()))
+                .collect(setMultimap());
 
-        final ImmutableSet<String> imports = allImports
-                .map(Import::toString)
-                .filter(redundantImport.asPredicate().negate())
-                .distinct()
-                .sorted()
+        deferred.clear();
+        return elementsByMix;
+    }
+
+    /**
+     * Computes the mixin of the given mix. The result is incomplete if the mix refers to types which are neither
+     * resolved nor pending mixins. Another processor may yet generate those types.
+     * <p>
+     * Components are ordered by the qualified names of their annotations, so that the generated mixin doesn't depend on
+     * the order javac reports the annotations in.
+     */
+    private PreparedMixin prepare(Reflection reflection, MixinHierarchy hierarchy, TypeElement mixElement,
+                                  Collection<Map.Entry<TypeElement, Element>> elements, ImmutableSet<String> pendingMixins) {
+        final TypeDeclaration mix = reflection.of(mixElement);
+
+        final Optional<TypeDeclaration> mixinDeclaration = hierarchy.mixinOf(mix);
+        if (!mixinDeclaration.isPresent()) {
+            final boolean ambiguous = hierarchy.isAmbiguous(mix);
+            hierarchy.forget(mix);
+            reflection.forget(mixElement);
+            return new PreparedMixin(mixElement, elements, Optional.empty(), ambiguous);
+        }
+
+        final ImmutableSet<MixinComponent> components = elements.stream()
+                .sorted(Comparator.comparing(Map.Entry::getValue, declarationOrderIn(mixElement)))
+                .collect(setMultimap())
+                .asMap().entrySet().stream()
+                .sorted(Comparator.comparing(a -> a.getKey().getQualifiedName().toString()))
+                .flatMap(a -> computers.computerFor(a.getKey())
+                        .map(c -> compute(reflection, mixElement, a.getValue(), c).stream())
+                        .orElse(Stream.empty()))
                 .collect(set());
 
-        return Template.render("mixin.java.template", ImmutableMap.<String, Object>builder()
-                        .put("package", pakkage)
-                        .put("imports", imports)
-                        .put("name", mixin.getName())
-                        .put("typeParameters", typeParameters.asJavaSource(AsJavaSourceOptions.SIMPLE_NAMES))
-                        .put("components", mixin.getComponents().stream().map(MixinComponent::getBody).collect(set()))
-                        .put("superMixins", supermixins.stream().map(s -> s.asJavaSource(AsJavaSourceOptions.SIMPLE_NAMES)).collect(set()))
-                        .build()
-        );
+        final Identifier name = Identifier.from(mixinDeclaration.get().getName(), CaseFormat.UPPER_CAMEL);
+        final Mixin mixin = new Mixin((DeclaredType) mixinDeclaration.get().asType().getMirror(), name, mix, components);
+        final MixinSnapshot snapshot = snapshot(reflection, hierarchy, mixin);
+
+        final boolean incomplete = mixElement.getSuperclass().getKind() == TypeKind.ERROR
+                || !pendingMixins.containsAll(snapshot.getImports().getUnresolvedTypes());
+
+        hierarchy.forget(mix);
+        reflection.forget(mixElement);
+
+        return new PreparedMixin(mixElement, elements, Optional.of(snapshot), incomplete);
+    }
+
+    /**
+     * Orders the given mix and its members as they are declared, the mix itself first. The order in which javac reports
+     * annotated elements depends on the order of the sources, and elements retried from a previous round come first.
+     */
+    private static Comparator<Element> declarationOrderIn(TypeElement mix) {
+        final Map<Element, Integer> positions = new HashMap<>();
+        final List<? extends Element> members = mix.getEnclosedElements();
+        for (int i = 0; i < members.size(); ++i)
+            positions.put(members.get(i), i);
+
+        return Comparator.comparing(e -> positions.getOrDefault(e, -1));
     }
 
-    private ImmutableSet<Type> findSupermixins(Mixin mixin) {
-        return findSupermixinsInSupertypesOf(mixin.getMix()).collect(set());
+    private static final class PreparedMixin {
+        final TypeElement mix;
+        final Collection<Map.Entry<TypeElement, Element>> elements;
+        final Optional<MixinSnapshot> snapshot;
+        final boolean incomplete;
+
+        PreparedMixin(TypeElement mix, Collection<Map.Entry<TypeElement, Element>> elements, Optional<MixinSnapshot> snapshot, boolean incomplete) {
+            this.mix = mix;
+            this.elements = elements;
+            this.snapshot = snapshot;
+            this.incomplete = incomplete;
+        }
     }
 
-    private Stream<Type> findSupermixinsInSupertypesOf(TypeDeclaration typeElement) {
-        return typeElement.supertypes().flatMap(this::findSupermixin);
+    private int parallelism() {
+        final String parallelism = processingEnv.getOptions().get(PARALLELISM_OPTION);
+        return parallelism == null ? 1 : Integer.parseInt(parallelism);
     }
 
-    private Stream<Type> findSupermixin(TypeDeclaration supertype) {
-        final Optional<Type> supermixin = supertype.interfaces()
-                .filter(this::isMixinCandidate)
-                .map(TypeDeclaration::asType)
-                .findAny();
+    /**
+     * Renders the snapshots on the given pool. Writing to the {@link javax.annotation.processing.Filer} remains on the
+     * processor thread, in the order of the snapshots.
+     */
+    private void generateInParallel(ForkJoinPool pool, List<MixinSnapshot> snapshots) {
+        final ImmutableList<Optional<ForkJoinTask<String>>> renderings = snapshots.stream()
+                .map(s -> s.getClassFile().isPresent() ? Optional.<ForkJoinTask<String>>empty() : Optional.of(pool.submit(() -> render(s))))
+                .collect(list());
 
-        return supermixin.map(Stream::of).orElseGet(() -> findSupermixinsInSupertypesOf(supertype));
+        for (int i = 0; i < snapshots.size(); ++i) {
+            final MixinSnapshot snapshot = snapshots.get(i);
+
+            if (renderings.get(i).isPresent())
+                writeMixin(snapshot, renderings.get(i).get().join());
+            else
+                writeClassFile(snapshot);
+        }
     }
 
-    private Class<? extends Annotation> loadAnnotation(TypeElement annotation) {
+    private String render(MixinSnapshot snapshot) throws IOException {
+        final long start = statistics.startTimer();
+
+        final StringBuilder source = new StringBuilder();
+        snapshot.writeTo(source);
+
+        statistics.templateRendered("mixin.java.template", start);
+        return source.toString();
+    }
+
+    private void generateMixin(MixinSnapshot snapshot) {
+        if (snapshot.getClassFile().isPresent()) {
+            writeClassFile(snapshot);
+            return;
+        }
+
+        if (fingerprints != null) {
+            // The fingerprint covers the whole source, so it is rendered into a buffer once for both.
+            try {
+                writeMixin(snapshot, render(snapshot));
+            } catch (IOException e) {
+                throw Throwables.propagate(e);
+            }
+            return;
+        }
+
+        final long start = statistics.startTimer();
+        writeMixin(snapshot, snapshot::writeTo);
+        statistics.templateRendered("mixin.java.template", start);
+    }
+
+    /**
+     * Writes the rendered mixin, unless it is unchanged from the previous compilation and that compilation's source
+     * file is among this compilation's inputs. A class file left over from a previous compilation doesn't count.
+     */
+    private void writeMixin(MixinSnapshot snapshot, String source) {
+        final String qualifiedName = snapshot.getQualifiedName();
+
         try {
-            return Class.forName(annotation.getQualifiedName().toString()).asSubclass(Annotation.class);
-        } catch (ClassNotFoundException e) {
+            if (fingerprints != null && fingerprints.record(qualifiedName, fingerprints.fingerprintOf(source)) && inputTypes.contains(qualifiedName))
+                return;
+        } catch (IOException e) {
             throw Throwables.propagate(e);
         }
+
+        writeMixin(snapshot, w -> w.append(source));
     }
 
-    private Stream<MixinComponent> compute(RoundEnvironment roundEnvironment, Class<? extends Annotation> annotation) {
-        final Class<? extends MixinComputer> computerClass = annotation.getAnnotation(Swizzle.class).computer();
-        final MixinComputer computer = Iterables.getOnlyElement(ServiceLoader.load(computerClass, computerClass.getClassLoader()));
+    private void writeMixin(MixinSnapshot snapshot, MixinWriter mixinWriter) {
+        try {
+            final String qualifiedName = snapshot.getQualifiedName();
+            final Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, snapshot.getOriginatingElement()).openWriter();
+
+            if (statistics.isEnabled()) {
+                final CountingWriter countingWriter = new CountingWriter(writer);
+                try (Writer w = countingWriter) {
+                    mixinWriter.writeTo(w);
+                }
+                statistics.fileWritten(qualifiedName, countingWriter.getCount());
+            } else {
+                try (Writer w = writer) {
+                    mixinWriter.writeTo(w);
+                }
+            }
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    private void writeClassFile(MixinSnapshot snapshot) {
+        final String qualifiedName = snapshot.getQualifiedName();
+        final byte[] classFile = snapshot.getClassFile().get();
+
+        try (OutputStream out = processingEnv.getFiler().createClassFile(qualifiedName, snapshot.getOriginatingElement()).openOutputStream()) {
+            out.write(classFile);
+        } catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+
+        statistics.fileWritten(qualifiedName, classFile.length);
+    }
+
+    interface MixinWriter {
+        void writeTo(Appendable out) throws IOException;
+    }
+
+    /**
+     * Gradle's isolating mode demands exactly one originating element per generated file. Supertypes as well as
+     * factory and constructor owners are dependencies of the mix's top level type, so Gradle recompiles (and thereby
+     * regenerates) the mixin whenever any of them change.
+     */
+    private Element originatingElementOf(Mixin mixin) {
+        Element element = mixin.getMix().getMirror();
+        while (element.getEnclosingElement().getKind() != ElementKind.PACKAGE)
+            element = element.getEnclosingElement();
+        return element;
+    }
+
+    /**
+     * Extracts everything needed to render the given mixin from the element model, including the imports and the
+     * names the components refer to types by.
+     */
+    private MixinSnapshot snapshot(Reflection reflection, MixinHierarchy hierarchy, Mixin mixin) {
+        final ImmutableList<String> typeArguments = mixin.getReference().getTypeArguments().stream()
+                .map(TypeVariable.class::cast)
+                .map(v -> v.asElement().getSimpleName().toString())
+                .collect(list());
+
+        final TypeParameters typeParameters = mixin.getMix().getTypeParameters().select(typeArguments);
+        final ImmutableList<String> reservedNames = Stream.concat(
+                mixin.getMix().getMirror().getTypeParameters().stream().map(p -> p.getSimpleName().toString()),
+                mixin.getComponents().stream().flatMap(c -> c.getMemberTypeNames().stream())
+        ).collect(list());
+
+        final String pakkage = mixin.getMix().getPackage().getQualifiedName().toString();
+        final ImportTable imports = new ImportTable(reflection, pakkage, mixin.getName().getPascalCased(), reservedNames);
+
+        final ImmutableList<Type> superMixinTypes = Stream.concat(
+                hierarchy.supermixinsOf(mixin.getMix()).stream(),
+                mixin.getComponents().stream().flatMap(c -> c.getSuperinterfaces().stream())
+        ).collect(list());
+        final ImmutableList<String> superMixins = superMixinTypes.stream().map(imports::nameOf).collect(list());
+        final String typeParameterList = typeParameters.asJavaSource(imports);
+        mixin.getComponents().forEach(c -> c.allocateNames(imports));
+
+        final Optional<byte[]> classFile = bytecode == null
+                ? Optional.empty()
+                : MixinClassWriter.write(bytecode, mixin, pakkage + "." + mixin.getName().getPascalCased(),
+                superMixinTypes.stream().map(Type::getMirror).collect(list()));
+
+        return new MixinSnapshot(Template.Engine.selectedIn(processingEnv), originatingElementOf(mixin), pakkage, imports,
+                mixin.getName(), typeParameterList, superMixins, mixin.getComponents(), classFile);
+    }
+
+    private ImmutableList<MixinComponent> compute(Reflection reflection, TypeElement mix, Collection<Element> elements, MixinComputer computer) {
+        final long start = statistics.startTimer();
+        final ImmutableList<MixinComponent> components = computer.computeAll(reflection, elements)
+                .filter(c -> writesBody(c, mix, computer))
+                .collect(list());
+        statistics.mixComputed(computer.getClass().getSimpleName(), mix.getQualifiedName().toString(), start);
+        return components;
+    }
+
+    /**
+     * Checks that the given component implements one of the body methods, so that a component which implements none
+     * is reported right away rather than failing while its mixin is written. Such components are dropped.
+     */
+    private boolean writesBody(MixinComponent component, TypeElement mix, MixinComputer computer) {
+        final Class<? extends MixinComponent> componentClass = component.getClass();
+        try {
+            if (componentClass.getMethod("writeBody", Appendable.class, ImportTable.class).getDeclaringClass() != MixinComponent.class
+                    || componentClass.getMethod("writeBody", Appendable.class).getDeclaringClass() != MixinComponent.class
+                    || componentClass.getMethod("getBody").getDeclaringClass() != MixinComponent.class)
+                return true;
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
 
-        return roundEnvironment.getElementsAnnotatedWith(annotation).stream().map(e -> computer.computeFor(Reflection.reflectionFor(processingEnv), e));
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, componentClass.getName() + ", computed by "
+                + computer.getClass().getName() + ", implements none of writeBody(Appendable, ImportTable), writeBody(Appendable) and getBody().", mix);
+        return false;
     }
 
-}
\ No newline at end of file
+}
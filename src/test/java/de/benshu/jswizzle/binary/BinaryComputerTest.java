@@ -0,0 +1,57 @@
+package de.benshu.jswizzle.binary;
+
+import de.benshu.jswizzle.processor.Compilation;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Runs {@code fixture.BinaryChecks} against the codecs generated for the fixtures.
+ */
+public class BinaryComputerTest {
+    private static Compilation compilation;
+
+    @BeforeClass
+    public static void compileFixtures() throws Exception {
+        compilation = Compilation.compile(Compilation.fixture("mixes"));
+    }
+
+    @Test
+    public void roundTripsThroughByteBuffers() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "roundTripsThroughByteBuffers");
+    }
+
+    @Test
+    public void roundTripsNulls() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "roundTripsNulls");
+    }
+
+    @Test
+    public void roundTripsBehindOtherData() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "roundTripsBehindOtherData");
+    }
+
+    @Test
+    public void writesTheSameBytesToDataOutputs() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "writesTheSameBytesToDataOutputs");
+    }
+
+    @Test
+    public void writesTheVersionAndFieldCount() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "writesTheVersionAndFieldCount");
+    }
+
+    @Test
+    public void rejectsOtherVersions() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "rejectsOtherVersions");
+    }
+
+    @Test
+    public void rejectsOtherMixes() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "rejectsOtherMixes");
+    }
+
+    @Test
+    public void rejectsNullElements() throws Throwable {
+        compilation.check("fixture.BinaryChecks", "rejectsNullElements");
+    }
+}
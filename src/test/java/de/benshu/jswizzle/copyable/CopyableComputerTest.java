@@ -0,0 +1,114 @@
+package de.benshu.jswizzle.copyable;
+
+import com.google.common.collect.ImmutableList;
+import de.benshu.jswizzle.processor.Compilation;
+import de.benshu.jswizzle.processor.SwizzleProcessor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.lang.model.SourceVersion;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs {@code fixture.CopyableChecks} against the copy methods generated for the fixtures, both as sources and, where
+ * javac supports it, as class files written by {@code writeMembers}.
+ */
+@RunWith(Parameterized.class)
+public class CopyableComputerTest {
+    private static final Map<String, Compilation> compilations = new HashMap<>();
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> outputs() {
+        return ImmutableList.of(new Object[]{"source"}, new Object[]{"bytecode"});
+    }
+
+    private final String output;
+    private final Compilation compilation;
+
+    public CopyableComputerTest(String output) throws Exception {
+        this.output = output;
+
+        if (!compilations.containsKey(output))
+            compilations.put(output, Compilation.compile(Compilation.fixture("mixes"), "-A" + SwizzleProcessor.OUTPUT_OPTION + "=" + output));
+        this.compilation = compilations.get(output);
+    }
+
+    @Test
+    public void writesPointAsClassFile() {
+        assumeTrue(output.equals("bytecode") && SourceVersion.latest().compareTo(SourceVersion.RELEASE_8) > 0);
+
+        assertTrue(compilation.classFiles().containsKey("fixture/PointMixin.class"));
+        assertFalse(compilation.generatedFiles().containsKey("generated/fixture/PointMixin.java"));
+    }
+
+    @Test
+    public void returnsItselfForTheSameFloatBits() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "returnsItselfForTheSameFloatBits");
+    }
+
+    @Test
+    public void returnsItselfForTheSameDoubleBits() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "returnsItselfForTheSameDoubleBits");
+    }
+
+    @Test
+    public void returnsItselfForTheSamePrimitives() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "returnsItselfForTheSamePrimitives");
+    }
+
+    @Test
+    public void comparesReferencesByIdentity() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "comparesReferencesByIdentity");
+    }
+
+    @Test
+    public void comparesOverriddenReferencesByEquality() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "comparesOverriddenReferencesByEquality");
+    }
+
+    @Test
+    public void alwaysCopiesOverriddenProperties() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "alwaysCopiesOverriddenProperties");
+    }
+
+    @Test
+    public void copiesTheOtherProperties() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "copiesTheOtherProperties");
+    }
+
+    @Test
+    public void comparesByEqualityButPrimitivesByBits() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "comparesByEqualityButPrimitivesByBits");
+    }
+
+    @Test
+    public void updatesSeveralProperties() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "updatesSeveralProperties");
+    }
+
+    @Test
+    public void appliesUpdatesInOrder() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "appliesUpdatesInOrder");
+    }
+
+    @Test
+    public void copiesOnceThroughTheUpdater() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "copiesOnceThroughTheUpdater");
+    }
+
+    @Test
+    public void copiesThroughTheUpdaterEvenIfNothingChanged() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "copiesThroughTheUpdaterEvenIfNothingChanged");
+    }
+
+    @Test
+    public void mapsThroughPrimitiveOperators() throws Throwable {
+        compilation.check("fixture.CopyableChecks", "mapsThroughPrimitiveOperators");
+    }
+}
@@ -0,0 +1,45 @@
+package de.benshu.jswizzle.data;
+
+import de.benshu.jswizzle.processor.Compilation;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs {@code fixture.DataChecks} against the helpers generated for the fixtures.
+ */
+public class DataComputerTest {
+    private static Compilation compilation;
+
+    @BeforeClass
+    public static void compileFixtures() throws Exception {
+        compilation = Compilation.compile(Compilation.fixture("mixes"));
+    }
+
+    @Test
+    public void comparesInheritedFields() throws Throwable {
+        compilation.check("fixture.DataChecks", "comparesInheritedFields");
+    }
+
+    @Test
+    public void hashesInheritedFields() throws Throwable {
+        compilation.check("fixture.DataChecks", "hashesInheritedFields");
+    }
+
+    @Test
+    public void appendsInheritedFields() throws Throwable {
+        compilation.check("fixture.DataChecks", "appendsInheritedFields");
+    }
+
+    @Test
+    public void comparesNaNsAsEqual() throws Throwable {
+        compilation.check("fixture.DataChecks", "comparesNaNsAsEqual");
+    }
+
+    @Test
+    public void warnsAboutIgnoredSuperclassFields() {
+        assertTrue(compilation.getWarnings().toString(), compilation.getWarnings()
+                .contains("The helpers ignore the fields of fixture.Plain, for lack of @Data(helpers = true) to chain to."));
+    }
+}
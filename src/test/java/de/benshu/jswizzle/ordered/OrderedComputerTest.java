@@ -0,0 +1,47 @@
+package de.benshu.jswizzle.ordered;
+
+import de.benshu.jswizzle.processor.Compilation;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Runs {@code fixture.OrderedChecks} against the orderings generated for the fixtures.
+ */
+public class OrderedComputerTest {
+    private static Compilation compilation;
+
+    @BeforeClass
+    public static void compileFixtures() throws Exception {
+        compilation = Compilation.compile(Compilation.fixture("mixes"));
+    }
+
+    @Test
+    public void ordersDescendingKeys() throws Throwable {
+        compilation.check("fixture.OrderedChecks", "ordersDescendingKeys");
+    }
+
+    @Test
+    public void ordersByLaterKeysOnTies() throws Throwable {
+        compilation.check("fixture.OrderedChecks", "ordersByLaterKeysOnTies");
+    }
+
+    @Test
+    public void putsNullsFirst() throws Throwable {
+        compilation.check("fixture.OrderedChecks", "putsNullsFirst");
+    }
+
+    @Test
+    public void putsNullsLast() throws Throwable {
+        compilation.check("fixture.OrderedChecks", "putsNullsLast");
+    }
+
+    @Test
+    public void ordersByGetters() throws Throwable {
+        compilation.check("fixture.OrderedChecks", "ordersByGetters");
+    }
+
+    @Test
+    public void sortsAlikeThroughEveryEntryPoint() throws Throwable {
+        compilation.check("fixture.OrderedChecks", "sortsAlikeThroughEveryEntryPoint");
+    }
+}
@@ -0,0 +1,44 @@
+package de.benshu.jswizzle.processor;
+
+import org.junit.Test;
+
+import javax.lang.model.SourceVersion;
+
+import static de.benshu.jswizzle.processor.Compilation.compile;
+import static de.benshu.jswizzle.processor.Compilation.fixture;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compiles the fixtures with {@code -Ajswizzle.output=bytecode}, which javac 8 doesn't support.
+ */
+public class BytecodeOutputTest {
+    private static final String BYTECODE_OUTPUT = "-A" + SwizzleProcessor.OUTPUT_OPTION + "=bytecode";
+
+    private static boolean isJavac8() {
+        return SourceVersion.latest().compareTo(SourceVersion.RELEASE_8) <= 0;
+    }
+
+    @Test
+    public void writesMixinsAsClassFiles() throws Exception {
+        assumeFalse(isJavac8());
+
+        final Compilation compilation = compile(fixture("mixes"), BYTECODE_OUTPUT);
+
+        assertTrue(compilation.classFiles().containsKey("fixture/PointMixin.class"));
+        assertFalse(compilation.generatedFiles().containsKey("generated/fixture/PointMixin.java"));
+    }
+
+    @Test
+    public void writesMixinsAsSourcesOnJavac8() throws Exception {
+        assumeTrue(isJavac8());
+
+        final Compilation compilation = compile(fixture("mixes"), BYTECODE_OUTPUT);
+
+        assertTrue(compilation.generatedFiles().containsKey("generated/fixture/PointMixin.java"));
+        assertTrue(compilation.getWarnings().toString(),
+                compilation.getWarnings().contains("-A" + SwizzleProcessor.OUTPUT_OPTION + "=bytecode requires javac 9 or later. Mixins are written as sources."));
+    }
+}
@@ -0,0 +1,166 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static de.benshu.commons.core.streams.Collectors.list;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles fixtures from {@code src/test/resources/fixtures} with the processor, for tests comparing what it generates
+ * and running what it compiled.
+ */
+public final class Compilation {
+    private final ImmutableSortedMap<String, byte[]> files;
+    private final ImmutableList<String> warnings;
+
+    private Compilation(ImmutableSortedMap<String, byte[]> files, ImmutableList<String> warnings) {
+        this.files = files;
+        this.warnings = warnings;
+    }
+
+    /**
+     * @return the sources of the given fixture, ordered by their paths
+     */
+    public static ImmutableList<Path> fixture(String name) throws IOException, URISyntaxException {
+        final Path root = Paths.get(Compilation.class.getResource("/fixtures/" + name).toURI());
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(f -> f.toString().endsWith(".java")).sorted().collect(list());
+        }
+    }
+
+    /**
+     * Compiles the given sources in the given order and fails if they don't compile.
+     */
+    public static Compilation compile(Iterable<Path> sources, String... options) throws IOException {
+        final Path directory = Files.createTempDirectory("jswizzle");
+        try {
+            final Path classOutput = Files.createDirectory(directory.resolve("classes"));
+            final Path sourceOutput = Files.createDirectory(directory.resolve("generated"));
+
+            final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+                final ImmutableList<String> arguments = ImmutableList.<String>builder()
+                        .add("-d", classOutput.toString())
+                        .add("-s", sourceOutput.toString())
+                        .add("-classpath", System.getProperty("java.class.path"))
+                        .add(options)
+                        .build();
+                final ImmutableList<JavaFileObject> compilationUnits = ImmutableList.copyOf(
+                        fileManager.getJavaFileObjectsFromFiles(ImmutableList.copyOf(sources).stream().map(Path::toFile).collect(list())));
+
+                final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, arguments, null, compilationUnits);
+                task.setProcessors(ImmutableList.of(new SwizzleProcessor()));
+                assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+            }
+
+            final ImmutableSortedMap.Builder<String, byte[]> files = ImmutableSortedMap.naturalOrder();
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.filter(Files::isRegularFile).collect(list()))
+                    files.put(directory.relativize(path).toString().replace('\\', '/'), Files.readAllBytes(path));
+            }
+            return new Compilation(files.build(), diagnostics.getDiagnostics().stream()
+                    .filter(d -> d.getKind() == Diagnostic.Kind.WARNING || d.getKind() == Diagnostic.Kind.MANDATORY_WARNING)
+                    .map(d -> d.getMessage(Locale.ROOT))
+                    .collect(list()));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * @return the files written by the processor other than class files, by their paths relative to the source output
+     * ({@code generated/}) or the class output ({@code classes/})
+     */
+    public static ImmutableSortedMap<String, byte[]> generatedFiles(Iterable<Path> sources, String... options) throws IOException {
+        return compile(sources, options).generatedFiles();
+    }
+
+    public ImmutableSortedMap<String, byte[]> generatedFiles() {
+        return ImmutableSortedMap.copyOfSorted(Maps.filterKeys(files, p -> !p.endsWith(".class")));
+    }
+
+    /**
+     * @return the class files, including those of mixins written as class files, by their paths relative to the class
+     * output
+     */
+    public ImmutableSortedMap<String, byte[]> classFiles() {
+        final ImmutableSortedMap.Builder<String, byte[]> classFiles = ImmutableSortedMap.naturalOrder();
+        files.forEach((path, bytes) -> {
+            if (path.endsWith(".class"))
+                classFiles.put(path.substring("classes/".length()), bytes);
+        });
+        return classFiles.build();
+    }
+
+    public ImmutableList<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * Runs the given static method of a compiled class, so that fixtures can check the behaviour of the mixins they
+     * compiled against. Assertion errors thrown by the method are rethrown as they are.
+     */
+    public void check(String className, String methodName) throws Throwable {
+        try {
+            new Classes().loadClass(className).getMethod(methodName).invoke(null);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Compares text files as strings, so that a failure shows where they differ rather than the index of a byte.
+     */
+    static void assertSameFiles(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, byte[]> e : expected.entrySet())
+            if (e.getKey().endsWith(".class"))
+                assertArrayEquals(e.getKey(), e.getValue(), actual.get(e.getKey()));
+            else
+                assertEquals(e.getKey(), new String(e.getValue(), StandardCharsets.UTF_8), new String(actual.get(e.getKey()), StandardCharsets.UTF_8));
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(list()))
+                Files.delete(path);
+        }
+    }
+
+    private class Classes extends ClassLoader {
+        Classes() {
+            super(Compilation.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            final byte[] bytes = files.get("classes/" + name.replace('.', '/') + ".class");
+            if (bytes == null)
+                throw new ClassNotFoundException(name);
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
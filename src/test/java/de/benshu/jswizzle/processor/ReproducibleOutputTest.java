@@ -0,0 +1,70 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.benshu.jswizzle.processor.Compilation.assertSameFiles;
+import static de.benshu.jswizzle.processor.Compilation.fixture;
+import static de.benshu.jswizzle.processor.Compilation.generatedFiles;
+
+/**
+ * Compiling the same sources must yield the same mixins, byte for byte, regardless of the order javac is given the
+ * sources in and the order the annotations of a mix are declared in.
+ */
+public class ReproducibleOutputTest {
+    @Test
+    public void outputDoesNotDependOnSourceOrder() throws Exception {
+        final ImmutableList<Path> sources = fixture("mixes");
+
+        assertSameFiles(generatedFiles(sources), generatedFiles(Lists.reverse(sources)));
+    }
+
+    @Test
+    public void outputDoesNotDependOnAnnotationOrder() throws Exception {
+        final ImmutableList<Path> sources = fixture("mixes");
+
+        final Path permutedSources = Files.createTempDirectory("jswizzle");
+        try {
+            assertSameFiles(generatedFiles(sources), generatedFiles(Lists.reverse(withAnnotationsReversed(sources, permutedSources))));
+        } finally {
+            Compilation.delete(permutedSources);
+        }
+    }
+
+    /**
+     * Copies the given sources to the given directory, reversing each run of consecutive annotation lines. The fixtures
+     * declare every annotation on a line of its own.
+     */
+    private static ImmutableList<Path> withAnnotationsReversed(ImmutableList<Path> sources, Path directory) throws IOException {
+        final ImmutableList.Builder<Path> copies = ImmutableList.builder();
+
+        for (Path source : sources) {
+            final List<String> lines = new ArrayList<>();
+            final List<String> annotations = new ArrayList<>();
+            for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+                if (line.trim().startsWith("@")) {
+                    annotations.add(0, line);
+                } else {
+                    lines.addAll(annotations);
+                    annotations.clear();
+                    lines.add(line);
+                }
+            }
+            lines.addAll(annotations);
+
+            final Path copy = directory.resolve(source.getFileName().toString());
+            Files.write(copy, lines, StandardCharsets.UTF_8);
+            copies.add(copy);
+        }
+
+        return copies.build();
+    }
+}
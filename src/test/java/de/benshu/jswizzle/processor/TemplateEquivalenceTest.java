@@ -0,0 +1,46 @@
+package de.benshu.jswizzle.processor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import de.benshu.jswizzle.internal.Template;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static de.benshu.commons.core.streams.Collectors.list;
+import static de.benshu.jswizzle.processor.Compilation.assertSameFiles;
+import static de.benshu.jswizzle.processor.Compilation.fixture;
+import static de.benshu.jswizzle.processor.Compilation.generatedFiles;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The compiled emitters are hand-written counterparts of the built-in templates. Rendering the fixtures through either
+ * engine must yield the same mixins, and the fixtures must render every built-in template for that to mean anything.
+ */
+public class TemplateEquivalenceTest {
+    @Test
+    public void emittersRenderLikeTemplates() throws Exception {
+        final ImmutableList<Path> sources = fixture("mixes");
+
+        assertSameFiles(
+                generatedFiles(sources, "-A" + Template.ENGINE_OPTION + "=freemarker"),
+                generatedFiles(sources));
+    }
+
+    @Test
+    public void fixturesRenderEveryTemplate() throws Exception {
+        final ImmutableSortedMap<String, byte[]> files = generatedFiles(fixture("mixes"), "-A" + SwizzleProcessor.STATISTICS_OPTION + "=json");
+        final String statistics = new String(files.get("classes/META-INF/jswizzle/stats.json"), StandardCharsets.UTF_8);
+
+        try (Stream<Path> templates = Files.list(Paths.get(TemplateEquivalenceTest.class.getResource("/templates").toURI()))) {
+            for (Path template : templates.collect(list())) {
+                final String name = template.getFileName().toString();
+                assertTrue(name + " isn't rendered for the fixtures.", statistics.contains("\"" + name + "\": {\"renders\": "));
+            }
+        }
+    }
+}
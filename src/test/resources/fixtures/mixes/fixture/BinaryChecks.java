@@ -0,0 +1,122 @@
+package fixture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class BinaryChecks {
+    private BinaryChecks() {
+    }
+
+    private static Reading reading() {
+        return new Reading("thermometer", 'C', 21.5, Arrays.asList(3, -1, 2), new LinkedHashSet<>(Arrays.asList("indoor", null, "")),
+                Arrays.asList(true, false));
+    }
+
+    private static ByteBuffer written(Reading reading) {
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        reading.writeTo(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static void roundTripsThroughByteBuffers() {
+        final Reading reading = reading();
+        final ByteBuffer buffer = written(reading);
+
+        assertTrue(reading.dataEquals(Reading.readFrom(buffer)));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    public static void roundTripsNulls() {
+        final Reading reading = new Reading(null, 'K', Double.NaN, null, null, Collections.emptyList());
+
+        assertTrue(reading.dataEquals(Reading.readFrom(written(reading))));
+    }
+
+    public static void roundTripsBehindOtherData() {
+        final Entry entry = new Entry("key", 42L, true, Arrays.asList("a", null, "b"));
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.putInt(7);
+        entry.writeTo(buffer);
+        buffer.flip();
+
+        assertEquals(7, buffer.getInt());
+        assertTrue(entry.dataEquals(EntryMixin.readFrom(buffer)));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    public static void writesTheSameBytesToDataOutputs() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        reading().writeTo(new DataOutputStream(bytes));
+
+        final ByteBuffer buffer = written(reading());
+        final byte[] expected = new byte[buffer.remaining()];
+        buffer.get(expected);
+
+        assertArrayEquals(expected, bytes.toByteArray());
+    }
+
+    public static void writesTheVersionAndFieldCount() {
+        final ByteBuffer buffer = written(reading());
+
+        assertEquals(3, buffer.getShort(0));
+        assertEquals(6, buffer.getShort(2));
+    }
+
+    public static void rejectsOtherVersions() {
+        final ByteBuffer buffer = written(reading());
+        buffer.putShort(0, (short) 2);
+
+        try {
+            Reading.readFrom(buffer);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Expected version 3 with 6 fields.", e.getMessage());
+        }
+    }
+
+    public static void rejectsOtherMixes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        new Entry("key", 42L, true, null).writeTo(buffer);
+        buffer.flip();
+
+        try {
+            Reading.readFrom(buffer);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Expected version 3 with 6 fields.", e.getMessage());
+        }
+    }
+
+    public static void rejectsNullElements() {
+        final Reading reading = new Reading("thermometer", 'C', 21.5, Arrays.asList(3, null), null, null);
+        final ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.position(5);
+
+        try {
+            reading.writeTo(buffer);
+            fail();
+        } catch (NullPointerException e) {
+            assertEquals("samples contains null.", e.getMessage());
+        }
+        assertEquals(5, buffer.position());
+
+        try {
+            reading.writeTo(new DataOutputStream(new ByteArrayOutputStream()));
+            fail();
+        } catch (NullPointerException | IOException e) {
+            assertEquals("samples contains null.", e.getMessage());
+        }
+    }
+}
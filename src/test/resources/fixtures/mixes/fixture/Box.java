@@ -0,0 +1,36 @@
+package fixture;
+
+import de.benshu.jswizzle.copyable.CopyFactory;
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.ordered.Ordered;
+
+@Copyable(updater = true)
+@Ordered
+public class Box<T extends Comparable<T>> implements BoxMixin<T> {
+    /**
+     * The number of times {@link #of} was invoked, so that checks can tell how often a box was copied.
+     */
+    static int copies;
+
+    final T value;
+    @Ordered.Key(nulls = Ordered.Nulls.LAST)
+    final String label;
+    final int count;
+
+    Box(T value, String label, int count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+
+    @Ordered.Key(priority = 1, direction = Ordered.Direction.DESCENDING)
+    int getSize() {
+        return count;
+    }
+
+    @CopyFactory
+    static <T extends Comparable<T>> Box<T> of(T value, String label, int count) {
+        ++copies;
+        return new Box<>(value, label, count);
+    }
+}
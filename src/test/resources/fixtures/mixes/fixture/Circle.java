@@ -0,0 +1,19 @@
+package fixture;
+
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+@Copyable(shortCircuit = Copyable.ShortCircuit.EQUALITY)
+@Data(helpers = true)
+public class Circle extends Shape implements CircleMixin {
+    @Copyable.Include
+    final double radius;
+    @Copyable.Include
+    final int[] center;
+
+    public Circle(String name, double radius, int[] center) {
+        super(name);
+        this.radius = radius;
+        this.center = center;
+    }
+}
@@ -0,0 +1,167 @@
+package fixture;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public final class CopyableChecks {
+    private CopyableChecks() {
+    }
+
+    private static Point point() {
+        return new Point(1f, 2.0, 3L, 4, "label", "name", 5);
+    }
+
+    public static void returnsItselfForTheSameFloatBits() {
+        final Point point = point();
+        assertSame(point, point.withX(1f));
+
+        final Point nan = point.withX(Float.NaN);
+        assertNotSame(point, nan);
+        assertTrue(Float.isNaN(nan.x));
+        assertSame(nan, nan.withX(Float.NaN));
+        assertSame(nan, nan.withX(Float.intBitsToFloat(Float.floatToIntBits(Float.NaN))));
+
+        final Point zero = point.withX(0f);
+        final Point negativeZero = zero.withX(-0f);
+        assertNotSame(zero, negativeZero);
+        assertEquals(Float.floatToIntBits(-0f), Float.floatToIntBits(negativeZero.x));
+    }
+
+    public static void returnsItselfForTheSameDoubleBits() {
+        final Point point = point();
+        assertSame(point, point.withY(2.0));
+
+        final Point nan = point.withY(Double.NaN);
+        assertNotSame(point, nan);
+        assertSame(nan, nan.withY(Double.NaN));
+
+        final Point zero = point.withY(0.0);
+        final Point negativeZero = zero.withY(-0.0);
+        assertNotSame(zero, negativeZero);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(negativeZero.y));
+    }
+
+    public static void returnsItselfForTheSamePrimitives() {
+        final Point point = point();
+        assertSame(point, point.withZ(3L));
+        assertSame(point, point.withRank(4));
+
+        assertEquals(3L + (1L << 32), point.withZ(3L + (1L << 32)).z);
+        assertEquals(-4, point.withRank(-4).rank);
+    }
+
+    public static void comparesReferencesByIdentity() {
+        final Point point = point();
+        assertSame(point, point.withLabel(point.label));
+
+        final Point copy = point.withLabel(new String("label"));
+        assertNotSame(point, copy);
+        assertEquals("label", copy.label);
+    }
+
+    public static void comparesOverriddenReferencesByEquality() {
+        final Point point = point();
+        assertSame(point, point.withName(new String("name")));
+        assertEquals("other", point.withName("other").name);
+        assertNull(point.withName(null).name);
+    }
+
+    public static void alwaysCopiesOverriddenProperties() {
+        final Point point = point();
+        final Point copy = point.withWeight(5);
+
+        assertNotSame(point, copy);
+        assertEquals(5, copy.weight);
+    }
+
+    public static void copiesTheOtherProperties() {
+        final Point copy = point().withX(9f);
+
+        assertEquals(9f, copy.x, 0f);
+        assertEquals(2.0, copy.y, 0.0);
+        assertEquals(3L, copy.z);
+        assertEquals(4, copy.rank);
+        assertEquals("label", copy.label);
+        assertEquals("name", copy.name);
+        assertEquals(5, copy.weight);
+    }
+
+    public static void comparesByEqualityButPrimitivesByBits() {
+        final int[] center = {1, 2};
+        final Circle circle = new Circle("a", Double.NaN, center);
+
+        assertSame(circle, circle.withRadius(Double.NaN));
+        assertSame(circle, circle.withCenter(center));
+        // Arrays don't override equals.
+        assertNotSame(circle, circle.withCenter(new int[]{1, 2}));
+        assertArrayEquals(new int[]{1, 2}, circle.withCenter(new int[]{1, 2}).center);
+    }
+
+    public static void updatesSeveralProperties() {
+        final List<String> tags = ImmutableList.of("t");
+        final Entry entry = new Entry("a", 1, true, tags);
+
+        final Entry updated = entry.with(u -> u.key("b").stamp(2).mapActive(a -> !a));
+
+        assertEquals("b", updated.key);
+        assertEquals(2, updated.stamp);
+        assertFalse(updated.active);
+        assertSame(tags, updated.tags);
+        assertEquals("a", entry.key);
+        assertEquals(1, entry.stamp);
+        assertTrue(entry.active);
+    }
+
+    public static void appliesUpdatesInOrder() {
+        final Entry updated = new Entry("a", 1, true, null).with(u -> u.stamp(2).mapStamp(s -> s * 10).key("b").mapKey(k -> k + "c"));
+
+        assertEquals("bc", updated.key);
+        assertEquals(20, updated.stamp);
+    }
+
+    public static void copiesOnceThroughTheUpdater() {
+        final Box<Integer> box = Box.of(1, "a", 2);
+        Box.copies = 0;
+
+        final Box<Integer> updated = box.with(u -> u.value(3).label("b").mapCount(c -> c + 1));
+
+        assertEquals(1, Box.copies);
+        assertEquals(Integer.valueOf(3), updated.value);
+        assertEquals("b", updated.label);
+        assertEquals(3, updated.count);
+    }
+
+    public static void copiesThroughTheUpdaterEvenIfNothingChanged() {
+        final Entry entry = new Entry("a", 1, true, null);
+        final Entry updated = entry.with(u -> {
+        });
+
+        assertNotSame(entry, updated);
+        assertEquals("a", updated.key);
+        assertEquals(1, updated.stamp);
+    }
+
+    public static void mapsThroughPrimitiveOperators() {
+        final Entry entry = new Entry("a", 1, true, null);
+        assertEquals(3, entry.mapStamp(s -> s + 2).stamp);
+        assertEquals("A", entry.mapKey(String::toUpperCase).key);
+        assertFalse(entry.mapActive(a -> !a).active);
+
+        assertEquals(3, Box.of(1, "a", 2).mapCount(c -> c + 1).count);
+        assertEquals(Integer.valueOf(2), Box.of(1, "a", 2).mapValue(v -> v * 2).value);
+
+        final Reading reading = new Reading("s", 'C', 2.5, null, null, null);
+        assertEquals(5.0, reading.mapValue(v -> v * 2).value, 0.0);
+        assertEquals('F', reading.mapUnit(u -> 'F').unit);
+        assertEquals(1.25, reading.with(u -> u.mapValue(v -> v / 2)).value, 0.0);
+    }
+}
@@ -0,0 +1,35 @@
+package fixture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class DataChecks {
+    private DataChecks() {
+    }
+
+    public static void comparesInheritedFields() {
+        final Circle circle = new Circle("a", 1.0, new int[]{1, 2});
+
+        assertTrue(circle.dataEquals(new Circle("a", 1.0, new int[]{1, 2})));
+        assertFalse(circle.dataEquals(new Circle("b", 1.0, new int[]{1, 2})));
+        assertFalse(circle.dataEquals(new Circle("a", 2.0, new int[]{1, 2})));
+        assertFalse(circle.dataEquals(new Circle("a", 1.0, new int[]{2, 1})));
+        assertFalse(circle.dataEquals(null));
+    }
+
+    public static void hashesInheritedFields() {
+        assertEquals(new Circle("a", 1.0, new int[]{1, 2}).dataHashCode(), new Circle("a", 1.0, new int[]{1, 2}).dataHashCode());
+        assertTrue(new Circle("a", 1.0, new int[]{1, 2}).dataHashCode() != new Circle("b", 1.0, new int[]{1, 2}).dataHashCode());
+    }
+
+    public static void appendsInheritedFields() {
+        assertEquals("Circle{super=Shape{name=a}, radius=1.0, center=[1, 2]}",
+                new Circle("a", 1.0, new int[]{1, 2}).appendTo(new StringBuilder()).toString());
+    }
+
+    public static void comparesNaNsAsEqual() {
+        assertTrue(new Circle("a", Double.NaN, null).dataEquals(new Circle("a", Double.NaN, null)));
+        assertFalse(new Circle("a", 0.0, null).dataEquals(new Circle("a", -0.0, null)));
+    }
+}
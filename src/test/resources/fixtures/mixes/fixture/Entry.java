@@ -0,0 +1,31 @@
+package fixture;
+
+import de.benshu.jswizzle.binary.Binary;
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+import de.benshu.jswizzle.ordered.Ordered;
+
+import java.util.Date;
+import java.util.List;
+
+@Ordered
+@Binary(version = 2)
+@Data(helpers = true)
+@Copyable(updater = true)
+public class Entry implements EntryMixin {
+    @Ordered.Key(priority = 1)
+    final String key;
+    @Ordered.Key(direction = Ordered.Direction.DESCENDING)
+    final long stamp;
+    final boolean active;
+    final List<String> tags;
+    @Data
+    transient Date seen;
+
+    public Entry(String key, long stamp, boolean active, List<String> tags) {
+        this.key = key;
+        this.stamp = stamp;
+        this.active = active;
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,13 @@
+package fixture;
+
+import de.benshu.jswizzle.data.Data;
+
+@Data(helpers = true)
+public class Labelled extends Plain implements LabelledMixin {
+    final String label;
+
+    public Labelled(int id, String label) {
+        super(id);
+        this.label = label;
+    }
+}
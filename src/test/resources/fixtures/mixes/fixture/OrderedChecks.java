@@ -0,0 +1,71 @@
+package fixture;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class OrderedChecks {
+    private OrderedChecks() {
+    }
+
+    public static void ordersDescendingKeys() {
+        assertTrue(new Entry("a", 2, true, null).compareTo(new Entry("a", 1, true, null)) < 0);
+        assertTrue(new Entry("a", 1, true, null).compareTo(new Entry("a", 2, true, null)) > 0);
+        assertTrue(new Entry("a", Long.MIN_VALUE, true, null).compareTo(new Entry("a", Long.MAX_VALUE, true, null)) > 0);
+    }
+
+    public static void ordersByLaterKeysOnTies() {
+        assertTrue(new Entry("a", 1, true, null).compareTo(new Entry("b", 1, true, null)) < 0);
+        assertTrue(new Entry("b", 1, true, null).compareTo(new Entry("a", 2, true, null)) > 0);
+        assertEquals(0, new Entry("a", 1, true, null).compareTo(new Entry("a", 1, false, ImmutableList.of("t"))));
+    }
+
+    public static void putsNullsFirst() {
+        assertTrue(new Entry(null, 1, true, null).compareTo(new Entry("a", 1, true, null)) < 0);
+        assertTrue(new Entry("a", 1, true, null).compareTo(new Entry(null, 1, true, null)) > 0);
+        assertEquals(0, new Entry(null, 1, true, null).compareTo(new Entry(null, 1, true, null)));
+    }
+
+    public static void putsNullsLast() {
+        assertTrue(Box.of(1, null, 0).compareTo(Box.of(1, "a", 0)) > 0);
+        assertTrue(Box.of(1, "a", 0).compareTo(Box.of(1, null, 0)) < 0);
+        assertEquals(0, Box.of(1, null, 0).compareTo(Box.of(2, null, 0)));
+    }
+
+    public static void ordersByGetters() {
+        assertTrue(Box.of(1, "a", 2).compareTo(Box.of(1, "a", 1)) < 0);
+        assertTrue(Box.of(1, "b", 2).compareTo(Box.of(1, "a", 1)) > 0);
+    }
+
+    public static void sortsAlikeThroughEveryEntryPoint() {
+        final List<Entry> entries = ImmutableList.of(
+                new Entry("b", 1, true, null),
+                new Entry(null, 1, true, null),
+                new Entry("a", 2, true, null),
+                new Entry("a", 1, true, null));
+        final List<String> expected = ImmutableList.of("a@2", "null@1", "a@1", "b@1");
+
+        final List<Entry> naturally = new ArrayList<>(entries);
+        Collections.sort(naturally);
+        final List<Entry> byComparator = new ArrayList<>(entries);
+        byComparator.sort(Entry.COMPARATOR);
+        final List<Entry> byCompare = new ArrayList<>(entries);
+        byCompare.sort(EntryMixin::compare);
+
+        assertEquals(expected, describe(naturally));
+        assertEquals(expected, describe(byComparator));
+        assertEquals(expected, describe(byCompare));
+    }
+
+    private static List<String> describe(List<Entry> entries) {
+        final List<String> descriptions = new ArrayList<>();
+        for (Entry entry : entries)
+            descriptions.add(entry.key + "@" + entry.stamp);
+        return descriptions;
+    }
+}
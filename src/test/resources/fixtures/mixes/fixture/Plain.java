@@ -0,0 +1,9 @@
+package fixture;
+
+public abstract class Plain {
+    final int id;
+
+    protected Plain(int id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,28 @@
+package fixture;
+
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+@Copyable(shortCircuit = Copyable.ShortCircuit.IDENTITY)
+@Data
+public class Point implements PointMixin {
+    final float x;
+    final double y;
+    final long z;
+    final int rank;
+    final String label;
+    @Copyable.ShortCircuitBy(Copyable.ShortCircuit.EQUALITY)
+    final String name;
+    @Copyable.ShortCircuitBy(Copyable.ShortCircuit.NONE)
+    final int weight;
+
+    public Point(float x, double y, long z, int rank, String label, String name, int weight) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.rank = rank;
+        this.label = label;
+        this.name = name;
+        this.weight = weight;
+    }
+}
@@ -0,0 +1,34 @@
+package fixture;
+
+import de.benshu.jswizzle.binary.Binary;
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+@Binary(version = 3)
+@Copyable(updater = true)
+@Data(helpers = true)
+public class Reading implements ReadingMixin {
+    final String sensor;
+    final char unit;
+    final double value;
+    final List<Integer> samples;
+    final Set<String> labels;
+    final List<Boolean> flags;
+
+    public Reading(String sensor, char unit, double value, List<Integer> samples, Set<String> labels, List<Boolean> flags) {
+        this.sensor = sensor;
+        this.unit = unit;
+        this.value = value;
+        this.samples = samples;
+        this.labels = labels;
+        this.flags = flags;
+    }
+
+    public static Reading readFrom(ByteBuffer buffer) {
+        return ReadingMixin.readFrom(buffer);
+    }
+}
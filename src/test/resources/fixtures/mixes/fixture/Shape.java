@@ -0,0 +1,15 @@
+package fixture;
+
+import de.benshu.jswizzle.copyable.Copyable;
+import de.benshu.jswizzle.data.Data;
+
+@Data(helpers = true)
+@Copyable
+public abstract class Shape implements ShapeMixin {
+    @Copyable.Include
+    final String name;
+
+    protected Shape(String name) {
+        this.name = name;
+    }
+}